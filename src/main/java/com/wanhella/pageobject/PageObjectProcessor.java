@@ -0,0 +1,297 @@
+package com.wanhella.pageobject;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code <Page>_Elements} class next to every page object with {@code @FindBy},
+ * {@code @FindBys} or {@code @FindAll} fields. Its static {@code init(SearchContext, Page)} assigns
+ * each field a {@code LazyElement} or {@code LazyElementList} built from a constant locator, so
+ * initializing a page involves no reflection and no dynamic proxies. {@code @CacheLookup} keeps the
+ * element once found, as with PageFactory.
+ * <p>
+ * Selenium is only on the test classpath, so annotations and types are matched by name and the
+ * generated code refers to Selenium by fully-qualified names. Annotated fields must be package-private
+ * or wider, non-final, and typed {@code WebElement} or {@code List<WebElement>}; unannotated fields are
+ * left alone (PageFactory would look them up by id or name).
+ */
+@SupportedAnnotationTypes({PageObjectProcessor.FIND_BY, PageObjectProcessor.FIND_BYS, PageObjectProcessor.FIND_ALL})
+public class PageObjectProcessor extends AbstractProcessor {
+    static final String FIND_BY = "org.openqa.selenium.support.FindBy";
+    static final String FIND_BYS = "org.openqa.selenium.support.FindBys";
+    static final String FIND_ALL = "org.openqa.selenium.support.FindAll";
+    static final String CACHE_LOOKUP = "org.openqa.selenium.support.CacheLookup";
+
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String BY = "org.openqa.selenium.By";
+    private static final String SUFFIX = "_Elements";
+    private static final String RUNTIME_PACKAGE = "com.wanhella.pageobject";
+
+    private static final Map<String, String> STRATEGIES = Map.of(
+            "id", "id",
+            "name", "name",
+            "className", "className",
+            "css", "cssSelector",
+            "tagName", "tagName",
+            "linkText", "linkText",
+            "partialLinkText", "partialLinkText",
+            "xpath", "xpath");
+    private static final Map<String, String> HOWS = Map.of(
+            "ID", "id",
+            "NAME", "name",
+            "CLASS_NAME", "className",
+            "CSS", "cssSelector",
+            "TAG_NAME", "tagName",
+            "LINK_TEXT", "linkText",
+            "PARTIAL_LINK_TEXT", "partialLinkText",
+            "XPATH", "xpath",
+            // How.UNSET builds a By.id, like ID
+            "UNSET", "id");
+
+    private Elements elements;
+    private Messager messager;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        messager = processingEnv.getMessager();
+
+        Map<TypeElement, List<VariableElement>> pages = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (VariableElement field : ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                pages.computeIfAbsent((TypeElement) field.getEnclosingElement(), page -> new ArrayList<>()).add(field);
+            }
+        }
+        for (Map.Entry<TypeElement, List<VariableElement>> page : pages.entrySet()) {
+            List<VariableElement> fields = new ArrayList<>(page.getValue());
+            // Declaration order, whatever the order the annotations were processed in
+            fields.sort((a, b) -> Integer.compare(
+                    page.getKey().getEnclosedElements().indexOf(a), page.getKey().getEnclosedElements().indexOf(b)));
+            generate(page.getKey(), fields);
+        }
+        return false;
+    }
+
+    private void generate(TypeElement page, List<VariableElement> fields) {
+        String packageName = elements.getPackageOf(page).getQualifiedName().toString();
+        String simpleName = generatedName(page);
+        String pageType = page.getQualifiedName().toString();
+
+        Map<String, String> locators = new LinkedHashMap<>();
+        List<String> assignments = new ArrayList<>();
+        boolean valid = true;
+        for (VariableElement field : fields) {
+            String constant = constantName(field.getSimpleName().toString());
+            String locator = locator(field);
+            String wrapper = wrapperType(field);
+            if (locator == null || wrapper == null || !checkModifiers(field)) {
+                valid = false;
+                continue;
+            }
+            boolean cached = annotation(field, CACHE_LOOKUP) != null;
+            locators.put(constant, locator);
+            assignments.add(String.format("page.%s = new %s.%s(context, %s, %s);",
+                    field.getSimpleName(), RUNTIME_PACKAGE, wrapper, constant, cached));
+        }
+        if (!valid) {
+            return;
+        }
+
+        String superInit = superInit(page);
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(packageName + "." + simpleName, page).openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s;%n%n", packageName);
+            }
+            out.printf("@javax.annotation.processing.Generated(\"%s\")%n", getClass().getName());
+            out.printf("public final class %s {%n", simpleName);
+            locators.forEach((constant, locator) ->
+                    out.printf("    public static final %s %s = %s;%n", BY, constant, locator));
+            out.printf("%n    private %s() {%n    }%n%n", simpleName);
+            out.printf("    public static void init(org.openqa.selenium.SearchContext context, %s page) {%n", pageType);
+            if (superInit != null) {
+                out.printf("        %s.init(context, page);%n", superInit);
+            }
+            assignments.forEach(assignment -> out.printf("        %s%n", assignment));
+            out.printf("    }%n}%n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to generate elements for " + pageType, e);
+        }
+    }
+
+    /**
+     * The generated class of the nearest superclass with annotated fields, if any.
+     */
+    private String superInit(TypeElement page) {
+        TypeMirror superclass = page.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement type = (TypeElement) ((DeclaredType) superclass).asElement();
+            boolean annotated = ElementFilter.fieldsIn(type.getEnclosedElements()).stream()
+                    .anyMatch(field -> annotation(field, FIND_BY) != null || annotation(field, FIND_BYS) != null
+                            || annotation(field, FIND_ALL) != null);
+            if (annotated) {
+                PackageElement pkg = elements.getPackageOf(type);
+                String prefix = pkg.isUnnamed() ? "" : pkg.getQualifiedName() + ".";
+                return prefix + generatedName(type);
+            }
+            superclass = type.getSuperclass();
+        }
+        return null;
+    }
+
+    private String locator(VariableElement field) {
+        AnnotationMirror findBy = annotation(field, FIND_BY);
+        AnnotationMirror findBys = annotation(field, FIND_BYS);
+        AnnotationMirror findAll = annotation(field, FIND_ALL);
+        if ((findBy != null ? 1 : 0) + (findBys != null ? 1 : 0) + (findAll != null ? 1 : 0) > 1) {
+            error(field, "Only one of @FindBy, @FindBys and @FindAll can be used on a field");
+            return null;
+        }
+        if (findBy != null) {
+            return findBy(field, findBy);
+        }
+        String composite = findBys != null ? "ByChained" : "ByAll";
+        List<String> parts = new ArrayList<>();
+        for (AnnotationValue part : nested(findBys != null ? findBys : findAll)) {
+            String locator = findBy(field, (AnnotationMirror) part.getValue());
+            if (locator == null) {
+                return null;
+            }
+            parts.add(locator);
+        }
+        return String.format("new org.openqa.selenium.support.pagefactory.%s(%s)", composite, String.join(", ", parts));
+    }
+
+    private String findBy(VariableElement field, AnnotationMirror findBy) {
+        Map<String, String> values = new LinkedHashMap<>();
+        String how = null;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : elements.getElementValuesWithDefaults(findBy).entrySet()) {
+            String name = entry.getKey().getSimpleName().toString();
+            Object value = entry.getValue().getValue();
+            if (name.equals("how")) {
+                how = ((VariableElement) value).getSimpleName().toString();
+            } else if (value instanceof String string && !string.isEmpty()) {
+                values.put(name, string);
+            }
+        }
+        String using = values.remove("using");
+        if (values.size() > 1 || (!values.isEmpty() && using != null)) {
+            error(field, "@FindBy must specify exactly one location strategy, found " + values.keySet());
+            return null;
+        }
+        if (values.size() == 1) {
+            Map.Entry<String, String> strategy = values.entrySet().iterator().next();
+            return String.format("%s.%s(%s)", BY, STRATEGIES.get(strategy.getKey()),
+                    elements.getConstantExpression(strategy.getValue()));
+        }
+        if (using == null) {
+            error(field, "@FindBy must specify a location strategy");
+            return null;
+        }
+        if ("ID_OR_NAME".equals(how)) {
+            return String.format("new org.openqa.selenium.support.pagefactory.ByIdOrName(%s)",
+                    elements.getConstantExpression(using));
+        }
+        return String.format("%s.%s(%s)", BY, HOWS.get(how), elements.getConstantExpression(using));
+    }
+
+    private String wrapperType(VariableElement field) {
+        String type = field.asType().toString();
+        if (type.equals(WEB_ELEMENT)) {
+            return "LazyElement";
+        }
+        if (type.equals("java.util.List<" + WEB_ELEMENT + ">")) {
+            return "LazyElementList";
+        }
+        error(field, "Generated page elements must be WebElement or List<WebElement>, not " + type);
+        return null;
+    }
+
+    private boolean checkModifiers(VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)) {
+            error(field, "Generated page elements cannot be private, final or static");
+            return false;
+        }
+        for (Element enclosing = field.getEnclosingElement(); enclosing.getKind() != ElementKind.PACKAGE;
+             enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+                error(field, "Generated page elements cannot be in a private class");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<? extends AnnotationValue> nested(AnnotationMirror composite) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : composite.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                return (List<? extends AnnotationValue>) entry.getValue().getValue();
+            }
+        }
+        return List.of();
+    }
+
+    private static AnnotationMirror annotation(Element element, String type) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(type)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * FactoryLoginPage gives FactoryLoginPage_Elements, a nested Outer.Page gives Outer_Page_Elements.
+     */
+    private static String generatedName(TypeElement page) {
+        StringBuilder name = new StringBuilder(page.getSimpleName());
+        for (Element enclosing = page.getEnclosingElement(); enclosing.getKind() != ElementKind.PACKAGE;
+             enclosing = enclosing.getEnclosingElement()) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+    private static String constantName(String fieldName) {
+        return fieldName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    private void error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -1,14 +1,16 @@
 package com.wanhella;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverPoolExtension;
+import com.wanhella.session.DriverResolutionCache;
 import org.apache.commons.lang3.SystemUtils;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.locators.RelativeLocator;
 import org.slf4j.Logger;
@@ -23,28 +25,23 @@ import static java.lang.invoke.MethodHandles.lookup;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.slf4j.LoggerFactory.getLogger;
 
+@ExtendWith(DriverPoolExtension.class)
+@Execution(ExecutionMode.CONCURRENT)
 public class ActionsTest {
     static final Logger log = getLogger(lookup().lookupClass());
-    private static final String WEB_FORM_URL = "https://bonigarcia.dev/selenium-webdriver-java/web-form.html";
-    private static final String WEB_ROOT_URL = "https://bonigarcia.dev/selenium-webdriver-java/";
+    private static final String WEB_FORM_URL = FixtureServer.webRoot() + "web-form.html";
+    private static final String WEB_ROOT_URL = FixtureServer.webRoot();
 
     private WebDriver driver;
 
     @BeforeAll
     static void setupClass() {
-        WebDriverManager.chromedriver().setup();
+        DriverResolutionCache.setup("chrome");
     }
 
     @BeforeEach
-    void setup() {
-        try (ChromeDriverService service = new ChromeDriverService.Builder().withLogOutput(System.out).build()) {
-            driver = new ChromeDriver(service);
-        }
-    }
-
-    @AfterEach
-    void teardown() {
-        driver.quit();
+    void setup(WebDriver driver) {
+        this.driver = driver;
     }
 
     @Test
@@ -163,7 +160,7 @@ public class ActionsTest {
 
     @Test
     void testContextAndDoubleClick() {
-        driver.get(WEB_ROOT_URL + "dropdown-menu.html");
+        driver.get(FixtureServer.page("dropdown-menu.html"));
         Actions actions = new Actions(driver);
 
         WebElement dropdown2 = driver.findElement(By.id("my-dropdown-2"));
@@ -179,7 +176,7 @@ public class ActionsTest {
 
     @Test
     void testDragAndDrop() {
-        driver.get(WEB_ROOT_URL + "/drag-and-drop.html");
+        driver.get(FixtureServer.page("drag-and-drop.html"));
         Actions actions = new Actions(driver);
 
         WebElement draggable = driver.findElement(By.id("draggable"));
@@ -198,7 +195,7 @@ public class ActionsTest {
 
     @Test
     void testClickAndHold() {
-        driver.get(WEB_ROOT_URL + "draw-in-canvas.html");
+        driver.get(FixtureServer.page("draw-in-canvas.html"));
 
         Actions actions = new Actions(driver);
 
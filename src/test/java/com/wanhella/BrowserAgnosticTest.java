@@ -1,14 +1,14 @@
 package com.wanhella;
 
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.junit.jupiter.api.AfterEach;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverPoolExtension;
+import com.wanhella.session.DriverResolutionCache;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.html5.LocalStorage;
 import org.openqa.selenium.html5.SessionStorage;
 import org.openqa.selenium.html5.WebStorage;
@@ -33,11 +33,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.slf4j.LoggerFactory.getLogger;
 
+@ExtendWith(DriverPoolExtension.class)
 public class BrowserAgnosticTest {
     static final Logger log = getLogger(lookup().lookupClass());
-    private static final String WEB_FORM_URL = "https://bonigarcia.dev/selenium-webdriver-java/web-form.html";
-    private static final String WEB_ROOT_URL = "https://bonigarcia.dev/selenium-webdriver-java/";
-    public static final String WEB_DIALOG_URL = WEB_ROOT_URL + "dialog-boxes.html";
+    private static final String WEB_FORM_URL = FixtureServer.webRoot() + "web-form.html";
+    private static final String WEB_ROOT_URL = FixtureServer.webRoot();
+    public static final String WEB_DIALOG_URL = FixtureServer.page("dialog-boxes.html");
     public static final String WEB_COOKIES_URL = WEB_ROOT_URL + "cookies.html";
     public static final String LONG_PAGE_URL = WEB_ROOT_URL + "long-page.html";
 
@@ -45,19 +46,12 @@ public class BrowserAgnosticTest {
 
     @BeforeAll
     static void setupClass() {
-        WebDriverManager.chromedriver().setup();
+        DriverResolutionCache.setup("chrome");
     }
 
     @BeforeEach
-    void setup() {
-        try (ChromeDriverService service = new ChromeDriverService.Builder().withLogOutput(System.out).build()) {
-            driver = new ChromeDriver(service);
-        }
-    }
-
-    @AfterEach
-    void teardown() {
-        driver.quit();
+    void setup(WebDriver driver) {
+        this.driver = driver;
     }
 
     @Test
@@ -236,9 +230,9 @@ public class BrowserAgnosticTest {
 
     @Test
     void testHistory() {
-        String firstPage = WEB_ROOT_URL + "navigation1.html";
-        String secondPage = WEB_ROOT_URL + "navigation2.html";
-        String thirdPage = WEB_ROOT_URL + "navigation3.html";
+        String firstPage = FixtureServer.page("navigation1.html");
+        String secondPage = FixtureServer.page("navigation2.html");
+        String thirdPage = FixtureServer.page("navigation3.html");
 
         driver.get(firstPage);
 
@@ -253,8 +247,8 @@ public class BrowserAgnosticTest {
 
     @Test
     void testShadowDom() {
-        driver.get(WEB_ROOT_URL + "shadow-dom.html");
-        System.out.println(WEB_ROOT_URL + "shadow-dom.html");
+        driver.get(FixtureServer.page("shadow-dom.html"));
+        System.out.println(FixtureServer.page("shadow-dom.html"));
         WebElement content = driver.findElement(By.id("content"));
         SearchContext shadowRoot = content.getShadowRoot();
         WebElement textElement = shadowRoot.findElement(By.cssSelector("p"));
@@ -373,7 +367,7 @@ public class BrowserAgnosticTest {
 
     @Test
     void testIFrames() {
-        driver.get(WEB_ROOT_URL + "iframes.html");
+        driver.get(FixtureServer.page("iframes.html"));
 
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         wait.until(ExpectedConditions.frameToBeAvailableAndSwitchToIt("my-iframe"));
@@ -386,7 +380,7 @@ public class BrowserAgnosticTest {
 
     @Test
     void testFrames() {
-        driver.get(WEB_ROOT_URL + "frames.html");
+        driver.get(FixtureServer.page("frames.html"));
 
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
         String frameName = "frame-body";
@@ -448,7 +442,7 @@ public class BrowserAgnosticTest {
 
     @Test
     void testWebStorage() {
-        driver.get(WEB_ROOT_URL + "web-storage.html");
+        driver.get(FixtureServer.page("web-storage.html"));
         WebStorage webStorage = (WebStorage) driver;
 
         LocalStorage localStorage = webStorage.getLocalStorage();
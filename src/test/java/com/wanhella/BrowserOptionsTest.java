@@ -1,5 +1,7 @@
 package com.wanhella;
 
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverResolutionCache;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -27,13 +29,13 @@ import java.util.logging.Level;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class BrowserOptionsTest {
-    public static final String WEB_ROOT = "https://bonigarcia.dev/selenium-webdriver-java/";
+    public static final String WEB_ROOT = FixtureServer.webRoot();
     WebDriver driver;
     String lang;
 
     @BeforeAll
     static void setupClass() {
-        WebDriverManager.chromedriver().setup();
+        DriverResolutionCache.setup("chrome");
     }
 
     @BeforeEach
@@ -68,7 +70,7 @@ public class BrowserOptionsTest {
 
     @Test
     void testGeoLocation() {
-        driver.get(WEB_ROOT + "geolocation.html");
+        driver.get(FixtureServer.page("geolocation.html"));
         driver.findElement(By.id("get-coordinates")).click();
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
         WebElement coordinates = wait.until(ExpectedConditions.visibilityOf(driver.findElement(By.id("coordinates"))));
@@ -77,7 +79,7 @@ public class BrowserOptionsTest {
 
     @Test
     void testNotification() {
-        driver.get(WEB_ROOT + "notifications.html");
+        driver.get(FixtureServer.page("notifications.html"));
         JavascriptExecutor js = (JavascriptExecutor) driver;
         String script = String.join("\n",
                 "const callback = arguments[arguments.length - 1];",
@@ -102,7 +104,7 @@ public class BrowserOptionsTest {
 
     @Test
     void testBrowserLogs() {
-        driver.get(WEB_ROOT + "console-logs.html");
+        driver.get(FixtureServer.page("console-logs.html"));
         LogEntries browserLogs = driver.manage().logs().get(LogType.BROWSER);
         assertThat(browserLogs.getAll()).isNotEmpty();
         browserLogs.forEach(System.out::println);
@@ -119,7 +121,7 @@ public class BrowserOptionsTest {
 
     @Test
     void testAcceptLang() {
-        driver.get(WEB_ROOT + "multilanguage.html");
+        driver.get(FixtureServer.page("multilanguage.html"));
         ResourceBundle strings = ResourceBundle.getBundle("strings", Locale.forLanguageTag(lang));
         String home = strings.getString("home");
         String content = strings.getString("content");
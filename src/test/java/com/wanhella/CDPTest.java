@@ -1,9 +1,13 @@
 package com.wanhella;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.screenshot.Base64Files;
+import com.wanhella.screenshot.ScreencastExtension;
+import com.wanhella.session.PrewarmingDriverProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.devtools.DevTools;
@@ -26,8 +30,6 @@ import org.openqa.selenium.virtualauthenticator.VirtualAuthenticator;
 import org.openqa.selenium.virtualauthenticator.VirtualAuthenticatorOptions;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
@@ -39,17 +41,18 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+@ExtendWith(ScreencastExtension.class)
 public class CDPTest {
-    private static final String WEB_ROOT = "https://bonigarcia.dev/selenium-webdriver-java/";
+    private static final String WEB_ROOT = FixtureServer.webRoot();
 
     WebDriver driver;
     DevTools devTools;
 
     @BeforeEach
     void setup() {
-        driver = WebDriverManager.chromedriver().create();
+        driver = PrewarmingDriverProvider.chrome().take();
         devTools = ((ChromeDriver) driver).getDevTools();
-        devTools.createSession();
+        devTools.createSessionIfThereIsNotOne();
     }
 
     @AfterEach
@@ -68,7 +71,7 @@ public class CDPTest {
         devTools.getDomains().events()
                 .addJavascriptExceptionListener(futureJsExc::complete);
 
-        driver.get(WEB_ROOT + "console-logs.html");
+        driver.get(FixtureServer.page("console-logs.html"));
 
         ConsoleEvent consoleEvent = futureEvents.get(5, TimeUnit.SECONDS);
         System.out.printf("ConsoleEvent: %s %s %s%n", consoleEvent.getTimestamp(),
@@ -83,7 +86,7 @@ public class CDPTest {
         devTools.send(Emulation.setGeolocationOverride(Optional.of(48.8584), Optional.of(2.2945),
                 Optional.of(100)));
 
-        driver.get(WEB_ROOT + "geolocation.html");
+        driver.get(FixtureServer.page("geolocation.html"));
         driver.findElement(By.id("get-coordinates")).click();
 
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
@@ -133,7 +136,7 @@ public class CDPTest {
         LocationContext location = (LocationContext) driver;
         location.setLocation(new Location(27.5916, 86.5640, 8850));
 
-        driver.get(WEB_ROOT + "geolocation.html");
+        driver.get(FixtureServer.page("geolocation.html"));
         driver.findElement(By.id("get-coordinates")).click();
 
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
@@ -172,10 +175,8 @@ public class CDPTest {
         String pdfBase64 = pdf.getContent();
         assertThat(pdfBase64).contains("JVBER");
 
-        byte[] decodedImg = Base64.getDecoder()
-                .decode(pdfBase64.getBytes(StandardCharsets.UTF_8));
         Path destinationFile = Paths.get("my-pdf.pdf");
-        Files.write(destinationFile, decodedImg);
+        Base64Files.write(pdfBase64, destinationFile);
     }
 
     @Test
@@ -212,7 +213,7 @@ public class CDPTest {
             latch.countDown();
         }));
 
-        driver.get(WEB_ROOT + "console-logs.html");
+        driver.get(FixtureServer.page("console-logs.html"));
 
         assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
     }
@@ -1,11 +1,16 @@
 package com.wanhella;
 
 import com.google.common.collect.ImmutableList;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.screenshot.Base64Files;
+import com.wanhella.screenshot.ScreencastExtension;
+import com.wanhella.session.DriverResolutionCache;
+import com.wanhella.session.PrewarmingDriverProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeDriverService;
@@ -39,10 +44,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.openqa.selenium.devtools.v114.page.Page.getLayoutMetrics;
 import static org.slf4j.LoggerFactory.getLogger;
 
+@ExtendWith(ScreencastExtension.class)
 public class ChromeDevtoolsTest {
     static final Logger log = getLogger(lookup().lookupClass());
-    private static final String WEB_FORM_URL = "https://bonigarcia.dev/selenium-webdriver-java/web-form.html";
-    private static final String WEB_ROOT_URL = "https://bonigarcia.dev/selenium-webdriver-java/";
+    private static final String WEB_FORM_URL = FixtureServer.webRoot() + "web-form.html";
+    private static final String WEB_ROOT_URL = FixtureServer.webRoot();
 
     private WebDriver driver;
 
@@ -50,14 +56,14 @@ public class ChromeDevtoolsTest {
 
     @BeforeAll
     static void setupClass() {
-        WebDriverManager.chromedriver().setup();
+        DriverResolutionCache.setup("chrome");
     }
 
     @BeforeEach
     void setup() {
-        driver = WebDriverManager.chromedriver().create();
+        driver = PrewarmingDriverProvider.chrome().take();
         devTools = ((ChromeDriver) driver).getDevTools();
-        devTools.createSession();
+        devTools.createSessionIfThereIsNotOne();
     }
 
     @AfterEach
@@ -154,8 +160,7 @@ public class ChromeDevtoolsTest {
                 Optional.of(new Viewport(0, 0, contentSize.getWidth(),
                         contentSize.getHeight(), 1)),
                 Optional.empty(), Optional.of(true), Optional.of(true)));
-        Path destination = Paths.get("fullpage-screenshot-chrome.png");
-        Files.write(destination, Base64.getDecoder().decode(screenshotBase64));
+        Path destination = Base64Files.write(screenshotBase64, Paths.get("fullpage-screenshot-chrome.png"));
 
         assertThat(destination).exists();
     }
@@ -0,0 +1,45 @@
+package com.wanhella;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the calls made through an {@code EventFiringDecorator}. Leaving out Object methods and the
+ * accessors that only hand out another interface, each call is one command sent to the driver.
+ */
+public class CommandCounter implements WebDriverListener {
+    private static final Set<String> ACCESSORS = Set.of("manage", "navigate", "switchTo", "timeouts", "window",
+            "getWrappedDriver", "getWrappedElement");
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (method.getDeclaringClass() != Object.class && !ACCESSORS.contains(method.getName())) {
+            counts.computeIfAbsent(method.getName(), name -> new LongAdder()).increment();
+        }
+    }
+
+    public long total() {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long count(String methodName) {
+        LongAdder count = counts.get(methodName);
+        return count == null ? 0 : count.sum();
+    }
+
+    public void reset() {
+        counts.clear();
+    }
+
+    @Override
+    public String toString() {
+        return total() + " commands " + counts;
+    }
+}
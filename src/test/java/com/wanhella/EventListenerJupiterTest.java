@@ -1,21 +1,32 @@
 package com.wanhella;
 
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.screenshot.ScreenshotSink;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.events.EventFiringDecorator;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class EventListenerJupiterTest {
     WebDriver driver;
+    ScreenshotSink sink;
+
+    @TempDir
+    Path screenshots;
 
     @BeforeEach
     void setup() {
-        MyEventListener listener = new MyEventListener();
+        sink = new ScreenshotSink(screenshots, 8, 2, ScreenshotSink.OverflowPolicy.BLOCK);
+        MyEventListener listener = new MyEventListener(sink);
         WebDriver originalDriver = WebDriverManager.chromedriver().create();
         driver = new EventFiringDecorator<>(listener).decorate(originalDriver);
     }
@@ -23,12 +34,17 @@ public class EventListenerJupiterTest {
     @AfterEach
     void teardown() {
         driver.quit();
+        sink.close();
     }
 
     @Test
     void testEventListener() {
-        driver.get("https://bonigarcia.dev/selenium-webdriver-java/");
+        driver.get(FixtureServer.webRoot());
         assertThat(driver.getTitle()).isEqualTo("Hands-On Selenium WebDriver with Java");
         driver.findElement(By.linkText("Web form")).click();
+
+        // The listener also takes one before quitting, after the test
+        assertThat(sink.flush(Duration.ofSeconds(10))).isTrue();
+        assertThat(sink.written()).isEqualTo(1);
     }
 }
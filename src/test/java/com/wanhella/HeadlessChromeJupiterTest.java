@@ -1,6 +1,7 @@
 package com.wanhella;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverResolutionCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +18,7 @@ public class HeadlessChromeJupiterTest {
 
     @BeforeAll
     static void setupClass() {
-        WebDriverManager.chromedriver().setup();
+        DriverResolutionCache.setup("chrome");
     }
 
     @BeforeEach
@@ -35,7 +36,7 @@ public class HeadlessChromeJupiterTest {
 
     @Test
     void testHeadless() {
-        driver.get("https://bonigarcia.dev/selenium-webdriver-java");
+        driver.get(FixtureServer.webRoot());
         assertThat(driver.getTitle()).contains("Selenium WebDriver");
     }
 }
@@ -1,5 +1,6 @@
 package com.wanhella;
 
+import com.wanhella.fixture.FixtureServer;
 import io.github.bonigarcia.seljup.Arguments;
 import io.github.bonigarcia.seljup.SeleniumJupiter;
 import org.junit.jupiter.api.Test;
@@ -13,7 +14,7 @@ public class HeadlessChromeSelJupTest {
 
     @Test
     void testHeadless(@Arguments("--headless") ChromeDriver driver) {
-        driver.get("https://bonigarcia.dev/selenium-webdriver-java");
+        driver.get(FixtureServer.webRoot());
         assertThat(driver.getTitle()).contains("Selenium WebDriver");
     }
 }
@@ -1,6 +1,7 @@
 package com.wanhella;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverResolutionCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,7 +17,7 @@ public class HeadlessEdgeJupiterTest {
 
     @BeforeAll
     static void setupClass() {
-        WebDriverManager.edgedriver().setup();
+        DriverResolutionCache.setup("edge");
     }
 
     @BeforeEach
@@ -34,7 +35,7 @@ public class HeadlessEdgeJupiterTest {
 
     @Test
     void testHeadless() {
-        driver.get("https://bonigarcia.dev/selenium-webdriver-java");
+        driver.get(FixtureServer.webRoot());
         assertThat(driver.getTitle()).contains("Selenium WebDriver");
     }
 }
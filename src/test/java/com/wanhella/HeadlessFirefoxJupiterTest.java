@@ -1,5 +1,6 @@
 package com.wanhella;
 
+import com.wanhella.fixture.FixtureServer;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,7 +29,7 @@ public class HeadlessFirefoxJupiterTest {
 
     @Test
     void testHeadless() {
-        driver.get("https://bonigarcia.dev/selenium-webdriver-java");
+        driver.get(FixtureServer.webRoot());
         assertThat(driver.getTitle()).contains("Selenium WebDriver");
     }
 }
@@ -1,26 +1,28 @@
 package com.wanhella;
 
+import com.wanhella.screenshot.ScreenshotSink;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.remote.SessionId;
 import org.openqa.selenium.support.events.WebDriverListener;
-import org.slf4j.Logger;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-
-import static java.lang.invoke.MethodHandles.lookup;
-import static org.slf4j.LoggerFactory.getLogger;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 public class MyEventListener implements WebDriverListener {
-    static final Logger log = getLogger(lookup().lookupClass());
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM.dd_HH.mm.ss.SSS");
+
+    private final ScreenshotSink sink;
+
+    public MyEventListener() {
+        this(ScreenshotSink.shared());
+    }
+
+    public MyEventListener(ScreenshotSink sink) {
+        this.sink = sink;
+    }
 
     @Override
     public void afterGet(WebDriver driver, String url) {
@@ -34,18 +36,9 @@ public class MyEventListener implements WebDriverListener {
     }
 
     private void takeScreenshot(WebDriver driver) {
-        TakesScreenshot ts = (TakesScreenshot) driver;
-        File screenshot = ts.getScreenshotAs(OutputType.FILE);
+        String screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
         SessionId sessionId = ((RemoteWebDriver) driver).getSessionId();
-        Date today = new Date();
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy.MM.dd_HH.mm.ss.SSS");
-        String screenshotFileName = String.format("%s-%s.png", dateFormat.format(today), sessionId.toString());
-        Path destination = Paths.get(screenshotFileName);
-
-        try {
-            Files.move(screenshot.toPath(), destination);
-        } catch (IOException e) {
-            log.error("Exception moving screenshot from {} to {}", screenshot, destination, e);
-        }
+        String screenshotFileName = String.format("%s-%s.png", DATE_FORMAT.format(LocalDateTime.now()), sessionId);
+        sink.submit(screenshot, screenshotFileName);
     }
 }
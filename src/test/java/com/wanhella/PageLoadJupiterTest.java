@@ -1,5 +1,6 @@
 package com.wanhella;
 
+import com.wanhella.fixture.FixtureServer;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,7 +38,7 @@ public class PageLoadJupiterTest {
     @Test
     void testPageLoad() {
         long initMillis = System.currentTimeMillis();
-        driver.get("https://bonigarcia.dev/selenium-webdriver-java");
+        driver.get(FixtureServer.webRoot());
         Duration elapsed = Duration.ofMillis(System.currentTimeMillis() - initMillis);
 
         Capabilities capabilities = ((RemoteWebDriver) driver).getCapabilities();
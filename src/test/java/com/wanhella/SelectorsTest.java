@@ -1,15 +1,17 @@
 package com.wanhella;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.junit.jupiter.api.AfterEach;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverPoolExtension;
+import com.wanhella.session.DriverResolutionCache;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.support.ByIdOrName;
 import org.openqa.selenium.support.locators.RelativeLocator;
 import org.openqa.selenium.support.pagefactory.ByAll;
@@ -22,27 +24,22 @@ import static java.lang.invoke.MethodHandles.lookup;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.slf4j.LoggerFactory.getLogger;
 
+@ExtendWith(DriverPoolExtension.class)
+@Execution(ExecutionMode.CONCURRENT)
 public class SelectorsTest {
     static final Logger log = getLogger(lookup().lookupClass());
-    private static final String WEB_FORM_URL = "https://bonigarcia.dev/selenium-webdriver-java/web-form.html";
+    private static final String WEB_FORM_URL = FixtureServer.webRoot() + "web-form.html";
 
     private WebDriver driver;
 
     @BeforeAll
     static void setupClass() {
-        WebDriverManager.chromedriver().setup();
+        DriverResolutionCache.setup("chrome");
     }
 
     @BeforeEach
-    void setup() {
-        try (ChromeDriverService service = new ChromeDriverService.Builder().withLogOutput(System.out).build()) {
-            driver = new ChromeDriver(service);
-        }
-    }
-
-    @AfterEach
-    void teardown() {
-        driver.quit();
+    void setup(WebDriver driver) {
+        this.driver = driver;
     }
 
     @Test
@@ -0,0 +1,135 @@
+package com.wanhella.element;
+
+import com.wanhella.locator.ScriptLocators;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable state of one element, read together with any number of other elements in a single
+ * script execution instead of one round trip per getter. Getters mirror the WebElement ones they
+ * replace; text, visibility and CSS values come from the page, so they follow the browser's own
+ * rules rather than the WebDriver atoms (e.g. colors are {@code rgb(...)}, not {@code rgba(...)}).
+ */
+public record ElementSnapshot(WebElement element, String tagName, String text, Rectangle rect, boolean displayed,
+                              boolean selected, boolean enabled, Map<String, String> domAttributes,
+                              Map<String, Object> domProperties, Map<String, String> cssValues) {
+
+    private static final String SNAPSHOT_SCRIPT = ScriptLocators.IS_VISIBLE_FUNCTION
+            + ScriptLocators.ATTRIBUTE_FUNCTION + """
+            const fields = arguments[1];
+            return arguments[0].map(element => {
+              const bounds = element.getBoundingClientRect();
+              const snapshot = {
+                tagName: element.tagName.toLowerCase(),
+                text: element.innerText === undefined ? element.textContent.trim() : element.innerText.trim(),
+                rect: {x: bounds.left + window.scrollX, y: bounds.top + window.scrollY, width: bounds.width, height: bounds.height},
+                displayed: isVisible(element),
+                selected: Boolean(element.selected || element.checked),
+                enabled: !element.disabled,
+                attributes: {}, properties: {}, css: {}
+              };
+              fields.attributes.forEach(name => {
+                snapshot.attributes[name] = element.getAttribute(name);
+                snapshot.properties[name] = property(element, name);
+              });
+              fields.properties.forEach(name => snapshot.properties[name] = property(element, name));
+              if (fields.css.length > 0) {
+                const style = getComputedStyle(element);
+                fields.css.forEach(name => snapshot.css[name] = style.getPropertyValue(name));
+              }
+              return snapshot;
+            });
+            """;
+
+    public static ElementSnapshot capture(WebDriver driver, WebElement element, Fields fields) {
+        return captureAll(driver, List.of(element), fields).get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<ElementSnapshot> captureAll(WebDriver driver, List<WebElement> elements, Fields fields) {
+        if (elements.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Object> requested = Map.of("attributes", fields.attributes(), "properties", fields.properties(),
+                "css", fields.css());
+        List<Map<String, Object>> raw = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(SNAPSHOT_SCRIPT, elements, requested);
+
+        ElementSnapshot[] snapshots = new ElementSnapshot[elements.size()];
+        for (int i = 0; i < snapshots.length; i++) {
+            Map<String, Object> values = raw.get(i);
+            Map<String, Object> rect = (Map<String, Object>) values.get("rect");
+            snapshots[i] = new ElementSnapshot(elements.get(i),
+                    (String) values.get("tagName"),
+                    (String) values.get("text"),
+                    // Same truncation as RemoteWebElement.getRect()
+                    new Rectangle(((Number) rect.get("x")).intValue(), ((Number) rect.get("y")).intValue(),
+                            ((Number) rect.get("height")).intValue(), ((Number) rect.get("width")).intValue()),
+                    (Boolean) values.get("displayed"),
+                    (Boolean) values.get("selected"),
+                    (Boolean) values.get("enabled"),
+                    copyOf((Map<String, String>) values.get("attributes")),
+                    copyOf((Map<String, Object>) values.get("properties")),
+                    copyOf((Map<String, String>) values.get("css")));
+        }
+        return Arrays.asList(snapshots);
+    }
+
+    // Values may be null, which Map.copyOf does not allow
+    private static <V> Map<String, V> copyOf(Map<String, V> values) {
+        return Collections.unmodifiableMap(new HashMap<>(values));
+    }
+
+    /**
+     * The property when the element has one, the DOM attribute otherwise, like WebElement.getAttribute().
+     * As there, a false boolean property reads as null and a true one as {@code "true"}. Keep in step with
+     * the in-page {@link ScriptLocators#ATTRIBUTE_FUNCTION}.
+     */
+    public String getAttribute(String name) {
+        Object property = domProperties.get(name);
+        if (property instanceof Boolean flag) {
+            return flag ? "true" : null;
+        }
+        return property != null ? String.valueOf(property) : domAttributes.get(name);
+    }
+
+    public String getDomAttribute(String name) {
+        return domAttributes.get(name);
+    }
+
+    public String getDomProperty(String name) {
+        Object property = domProperties.get(name);
+        return property == null ? null : String.valueOf(property);
+    }
+
+    public String getCssValue(String name) {
+        return cssValues.get(name);
+    }
+
+    public record Fields(List<String> attributes, List<String> properties, List<String> css) {
+
+        public static Fields none() {
+            return new Fields(List.of(), List.of(), List.of());
+        }
+
+        public Fields withAttributes(String... names) {
+            return new Fields(List.of(names), properties, css);
+        }
+
+        public Fields withProperties(String... names) {
+            return new Fields(attributes, List.of(names), css);
+        }
+
+        public Fields withCss(String... names) {
+            return new Fields(attributes, properties, List.of(names));
+        }
+    }
+}
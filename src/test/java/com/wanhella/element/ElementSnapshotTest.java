@@ -0,0 +1,119 @@
+package com.wanhella.element;
+
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.pageobjectmodel.BasePage;
+import com.wanhella.session.DriverPoolExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@ExtendWith(DriverPoolExtension.class)
+public class ElementSnapshotTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String WEB_FORM_URL = FixtureServer.webRoot() + "web-form.html";
+    private static final By FORM_FIELDS = By.cssSelector("input, select, textarea, a");
+    private static final int ROUNDS = 5;
+    private static final ElementSnapshot.Fields FIELDS = ElementSnapshot.Fields.none()
+            .withAttributes("name", "type", "myprop")
+            .withProperties("value")
+            .withCss("cursor");
+
+    WebDriver driver;
+
+    @BeforeEach
+    void setup(WebDriver driver) {
+        this.driver = driver;
+        driver.get(WEB_FORM_URL);
+    }
+
+    @Test
+    void testSnapshotMatchesElementGetters() {
+        BasePage page = new BasePage(driver);
+
+        ElementSnapshot text = page.snapshot(By.id("my-text-id"), FIELDS);
+        assertThat(text.getAttribute("type")).isEqualTo("text");
+        assertThat(text.getDomAttribute("type")).isEqualTo("text");
+        assertThat(text.getDomProperty("type")).isEqualTo("text");
+        assertThat(text.getAttribute("myprop")).isEqualTo("myvalue");
+        assertThat(text.getDomAttribute("myprop")).isEqualTo("myvalue");
+        assertThat(text.getDomProperty("myprop")).isNull();
+        assertThat(text.enabled()).isTrue();
+
+        ElementSnapshot link = page.snapshot(By.linkText("Return to index"), FIELDS);
+        assertThat(link.tagName()).isEqualTo("a");
+        assertThat(link.getCssValue("cursor")).isEqualTo("pointer");
+
+        List<WebElement> elements = driver.findElements(FORM_FIELDS);
+        List<ElementSnapshot> snapshots = page.snapshotAll(FORM_FIELDS, FIELDS);
+        assertThat(snapshots).hasSameSizeAs(elements);
+        for (int i = 0; i < elements.size(); i++) {
+            WebElement element = elements.get(i);
+            ElementSnapshot snapshot = snapshots.get(i);
+            assertThat(snapshot.rect()).isEqualTo(element.getRect());
+            assertThat(snapshot.displayed()).isEqualTo(element.isDisplayed());
+            assertThat(snapshot.selected()).isEqualTo(element.isSelected());
+            assertThat(snapshot.getDomAttribute("name")).isEqualTo(element.getDomAttribute("name"));
+            assertThat(snapshot.getAttribute("value")).isEqualTo(element.getAttribute("value"));
+        }
+    }
+
+    @Test
+    void testFalseBooleanPropertyReadsAsNull() {
+        BasePage page = new BasePage(driver);
+        ElementSnapshot.Fields checked = ElementSnapshot.Fields.none().withProperties("checked");
+
+        for (String id : List.of("my-check-1", "my-check-2")) {
+            ElementSnapshot snapshot = page.snapshot(By.id(id), checked);
+            assertThat(snapshot.getAttribute("checked")).isEqualTo(driver.findElement(By.id(id)).getAttribute("checked"));
+        }
+        assertThat(page.snapshot(By.id("my-check-2"), checked).getAttribute("checked")).isNull();
+        assertThat(page.snapshot(By.id("my-check-1"), checked).getAttribute("checked")).isEqualTo("true");
+    }
+
+    @Test
+    void testSnapshotVersusPerCallAccess() {
+        List<WebElement> elements = driver.findElements(FORM_FIELDS);
+
+        long initNanos = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            for (WebElement element : elements) {
+                element.getTagName();
+                element.getText();
+                element.getAttribute("name");
+                element.getDomAttribute("type");
+                element.getDomProperty("value");
+                element.getCssValue("cursor");
+                element.getRect();
+                element.isDisplayed();
+                element.isSelected();
+                element.isEnabled();
+            }
+        }
+        double perCallMillis = (System.nanoTime() - initNanos) / 1_000_000.0 / ROUNDS;
+
+        List<ElementSnapshot> snapshots = List.of();
+        initNanos = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            snapshots = ElementSnapshot.captureAll(driver, elements, FIELDS);
+        }
+        double snapshotMillis = (System.nanoTime() - initNanos) / 1_000_000.0 / ROUNDS;
+
+        log.info(String.format("%d elements on web-form.html: %.1f ms with %d getter calls, %.1f ms with one snapshot",
+                elements.size(), perCallMillis, elements.size() * 10, snapshotMillis));
+        assertThat(snapshots).hasSameSizeAs(elements);
+        for (int i = 0; i < elements.size(); i++) {
+            assertThat(snapshots.get(i).tagName()).isEqualTo(elements.get(i).getTagName());
+        }
+    }
+}
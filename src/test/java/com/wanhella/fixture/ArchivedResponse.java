@@ -0,0 +1,70 @@
+package com.wanhella.fixture;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public record ArchivedResponse(int status, List<Map.Entry<String, String>> headers, byte[] body) {
+
+    public static ArchivedResponse of(HttpResponse response, byte[] body) {
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (String name : response.getHeaderNames()) {
+            for (String value : response.getHeaders(name)) {
+                headers.add(Map.entry(name, value));
+            }
+        }
+        return new ArchivedResponse(response.getStatus(), headers, body);
+    }
+
+    public HttpResponse toHttpResponse() {
+        HttpResponse response = new HttpResponse().setStatus(status);
+        headers.forEach(header -> response.addHeader(header.getKey(), header.getValue()));
+        return response.setContent(Contents.bytes(body));
+    }
+
+    public int size() {
+        return body.length;
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(status);
+            out.writeInt(headers.size());
+            for (Map.Entry<String, String> header : headers) {
+                out.writeUTF(header.getKey());
+                out.writeUTF(header.getValue());
+            }
+            out.writeInt(body.length);
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static ArchivedResponse decode(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            int status = in.readInt();
+            int headerCount = in.readInt();
+            List<Map.Entry<String, String>> headers = new ArrayList<>(headerCount);
+            for (int i = 0; i < headerCount; i++) {
+                headers.add(Map.entry(in.readUTF(), in.readUTF()));
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new ArchivedResponse(status, headers, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupted archive record", e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.wanhella.fixture;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * In-process HTTP server for the practice pages under {@code src/test/resources/web}. Every file is
+ * memory-mapped once at startup, so serving a page never touches the file system again.
+ * Tests pick it up with {@code -Dweb.root.url=local}.
+ * <p>
+ * Only some of the practice pages are bundled. Tests that need one that is not go through
+ * {@link #page(String)}, which keeps them on the remote site, so they still need the network in a
+ * local run: the geolocation, notification, console, language, dropdown, drag-and-drop, canvas,
+ * dialog, navigation, shadow DOM, frame and web storage tests in {@code ActionsTest},
+ * {@code BrowserAgnosticTest}, {@code BrowserOptionsTest} and {@code CDPTest}.
+ */
+public class FixtureServer implements AutoCloseable {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String WEB_ROOT_PROPERTY = "web.root.url";
+    public static final String REMOTE_WEB_ROOT = "https://bonigarcia.dev/selenium-webdriver-java/";
+    public static final String LOCAL = "local";
+
+    private static FixtureServer local;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, ByteBuffer> pages = new HashMap<>();
+
+    public FixtureServer(Path root, int port) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                try (FileChannel channel = FileChannel.open(file)) {
+                    String path = "/" + root.relativize(file).toString().replace('\\', '/');
+                    pages.put(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                }
+            }
+        }
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::serve);
+        server.start();
+        log.debug("Serving {} fixture files from {} on {}", pages.size(), root, getRootUrl());
+    }
+
+    public static String webRoot() {
+        String root = System.getProperty(WEB_ROOT_PROPERTY, REMOTE_WEB_ROOT);
+        if (LOCAL.equalsIgnoreCase(root)) {
+            return local().getRootUrl();
+        }
+        return root.endsWith("/") ? root : root + "/";
+    }
+
+    /**
+     * The URL of a practice page: under {@link #webRoot()} when it is served from there, otherwise on
+     * the remote site.
+     */
+    public static String page(String path) {
+        String root = webRoot();
+        boolean local = LOCAL.equalsIgnoreCase(System.getProperty(WEB_ROOT_PROPERTY, REMOTE_WEB_ROOT));
+        if (local && FixtureServer.class.getClassLoader().getResource("web/" + path) == null) {
+            return REMOTE_WEB_ROOT + path;
+        }
+        return root + path;
+    }
+
+    public static synchronized FixtureServer local() {
+        if (local == null) {
+            try {
+                URL web = FixtureServer.class.getClassLoader().getResource("web");
+                local = new FixtureServer(Paths.get(web.toURI()), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to start fixture server", e);
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException("Unable to locate fixture pages", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(local::close, "fixture-server-shutdown"));
+        }
+        return local;
+    }
+
+    public String getRootUrl() {
+        InetSocketAddress address = server.getAddress();
+        return String.format("http://%s:%d/", address.getAddress().getHostAddress(), address.getPort());
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith("/")) {
+            path += "index.html";
+        }
+        ByteBuffer page = pages.get(path);
+
+        try (OutputStream body = exchange.getResponseBody()) {
+            if (page == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType(path));
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, page.remaining());
+            // duplicate() shares the mapped bytes but keeps the position private to this request
+            WritableByteChannel channel = Channels.newChannel(body);
+            ByteBuffer content = page.duplicate();
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        }
+    }
+
+    private static String contentType(String path) {
+        String extension = path.substring(path.lastIndexOf('.') + 1);
+        return switch (extension) {
+            case "html" -> "text/html; charset=utf-8";
+            case "css" -> "text/css; charset=utf-8";
+            case "js" -> "text/javascript; charset=utf-8";
+            case "png" -> "image/png";
+            case "jpg", "jpeg" -> "image/jpeg";
+            case "svg" -> "image/svg+xml";
+            default -> "application/octet-stream";
+        };
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,54 @@
+package com.wanhella.fixture;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+public class FixtureServerTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    @Test
+    void testServesFixturePages() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        String root = FixtureServer.local().getRootUrl();
+
+        HttpResponse<String> index = client.send(HttpRequest.newBuilder(URI.create(root)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(index.statusCode()).isEqualTo(200);
+        assertThat(index.body()).contains("Hands-On Selenium WebDriver with Java");
+
+        HttpResponse<byte[]> image = client.send(HttpRequest.newBuilder(URI.create(root + "img/hands-on-icon.png")).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(image.headers().firstValue("Content-Type")).hasValue("image/png");
+        assertThat(image.body()).isNotEmpty();
+
+        HttpResponse<String> missing = client.send(HttpRequest.newBuilder(URI.create(root + "missing.html")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(missing.statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void testPageLoadTime() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        URI webForm = URI.create(FixtureServer.local().getRootUrl() + "web-form.html");
+
+        int requests = 100;
+        long initNanos = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(webForm).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            assertThat(response.statusCode()).isEqualTo(200);
+        }
+        double avgMillis = (System.nanoTime() - initNanos) / 1_000_000.0 / requests;
+
+        log.info(String.format("web-form.html served in %.2f ms on average", avgMillis));
+    }
+}
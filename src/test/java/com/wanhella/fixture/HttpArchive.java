@@ -0,0 +1,153 @@
+package com.wanhella.fixture;
+
+import org.slf4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Recorded HTTP responses in two append-only files: {@code <name>.data} holds the encoded responses
+ * back to back, {@code <name>.index} maps "METHOD URL" to an offset and length in the data file.
+ * Only the index is loaded; bodies are read with one positional read on a miss and then kept in an
+ * LRU cache bounded by total body size.
+ */
+public class HttpArchive implements Closeable {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final long DEFAULT_MAX_CACHED_BYTES = 64L * 1024 * 1024;
+
+    private final Path indexFile;
+    private final FileChannel data;
+    private final Map<String, Location> index = new HashMap<>();
+    private final long maxCachedBytes;
+    private final LinkedHashMap<String, ArchivedResponse> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBytes;
+    private BufferedWriter indexWriter;
+    private long hits;
+    private long diskReads;
+    private long misses;
+
+    public HttpArchive(Path directory, String name, long maxCachedBytes) throws IOException {
+        this.maxCachedBytes = maxCachedBytes;
+        Files.createDirectories(directory);
+        indexFile = directory.resolve(name + ".index");
+        data = FileChannel.open(directory.resolve(name + ".data"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (Files.exists(indexFile)) {
+            List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                String[] fields = line.split("\t");
+                index.put(fields[0], new Location(Long.parseLong(fields[1]), Integer.parseInt(fields[2])));
+            }
+        }
+    }
+
+    public static String key(String method, String url) {
+        return method + " " + url;
+    }
+
+    public synchronized void record(String method, String url, ArchivedResponse response) {
+        String key = key(method, url);
+        byte[] record = response.encode();
+        try {
+            long offset = data.size();
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                data.write(buffer, offset + buffer.position());
+            }
+            if (indexWriter == null) {
+                indexWriter = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            indexWriter.write(key + "\t" + offset + "\t" + record.length);
+            indexWriter.newLine();
+            // So a run that dies before close() still leaves a usable archive
+            indexWriter.flush();
+            index.put(key, new Location(offset, record.length));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to record " + key, e);
+        }
+        cache(key, response);
+    }
+
+    public synchronized Optional<ArchivedResponse> lookup(String method, String url) {
+        String key = key(method, url);
+        ArchivedResponse cached = cache.get(key);
+        if (cached != null) {
+            hits++;
+            return Optional.of(cached);
+        }
+        Location location = index.get(key);
+        if (location == null) {
+            misses++;
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(location.length());
+        try {
+            while (buffer.hasRemaining()) {
+                if (data.read(buffer, location.offset() + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of archive");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + key, e);
+        }
+        diskReads++;
+        ArchivedResponse response = ArchivedResponse.decode(buffer.array());
+        cache(key, response);
+        return Optional.of(response);
+    }
+
+    private void cache(String key, ArchivedResponse response) {
+        if (response.size() > maxCachedBytes) {
+            return;
+        }
+        ArchivedResponse previous = cache.put(key, response);
+        cachedBytes += response.size() - (previous == null ? 0 : previous.size());
+        var eldest = cache.entrySet().iterator();
+        while (cachedBytes > maxCachedBytes && eldest.hasNext()) {
+            cachedBytes -= eldest.next().getValue().size();
+            eldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d archived responses, %d memory hits, %d disk reads, %d misses, %d KB cached",
+                index.size(), hits, diskReads, misses, cachedBytes / 1024);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (indexWriter != null) {
+            indexWriter.close();
+        }
+        data.close();
+        log.debug("Archive {} closed: {}", indexFile, this);
+    }
+
+    private record Location(long offset, int length) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.wanhella.fixture;
+
+import com.wanhella.session.PrewarmingDriverProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+public class HttpArchiveTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    @TempDir
+    Path archiveDir;
+
+    @Test
+    void testRecordAndReopen() throws Exception {
+        ArchivedResponse page = new ArchivedResponse(200, List.of(Map.entry("Content-Type", "text/html")),
+                "<html>Hello</html>".getBytes(StandardCharsets.UTF_8));
+        try (HttpArchive archive = new HttpArchive(archiveDir, "pages", 1024)) {
+            archive.record("GET", "https://example.com/", page);
+            archive.record("GET", "https://example.com/big", new ArchivedResponse(200, List.of(), new byte[4096]));
+        }
+
+        try (HttpArchive archive = new HttpArchive(archiveDir, "pages", 1024)) {
+            assertThat(archive.size()).isEqualTo(2);
+            ArchivedResponse replayed = archive.lookup("GET", "https://example.com/").orElseThrow();
+            assertThat(replayed.status()).isEqualTo(200);
+            assertThat(replayed.headers()).containsExactly(Map.entry("Content-Type", "text/html"));
+            assertThat(replayed.body()).isEqualTo(page.body());
+            // Bodies above the bound are served from disk every time and never cached
+            assertThat(archive.lookup("GET", "https://example.com/big")).get()
+                    .extracting(ArchivedResponse::size).isEqualTo(4096);
+            assertThat(archive.lookup("POST", "https://example.com/")).isEmpty();
+            log.info("{}", archive);
+        }
+    }
+
+    @Test
+    void testEntriesSurviveWithoutClose() throws Exception {
+        HttpArchive unclosed = new HttpArchive(archiveDir, "crashed", 1024);
+        try {
+            unclosed.record("GET", "https://example.com/", new ArchivedResponse(200, List.of(), new byte[10]));
+            try (HttpArchive archive = new HttpArchive(archiveDir, "crashed", 1024)) {
+                assertThat(archive.lookup("GET", "https://example.com/")).get()
+                        .extracting(ArchivedResponse::size).isEqualTo(10);
+            }
+        } finally {
+            unclosed.close();
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() throws Exception {
+        try (HttpArchive archive = new HttpArchive(archiveDir, "lru", 200)) {
+            for (int i = 0; i < 3; i++) {
+                archive.record("GET", "https://example.com/" + i, new ArchivedResponse(200, List.of(), new byte[100]));
+            }
+            assertThat(archive.toString()).contains("0 disk reads");
+            archive.lookup("GET", "https://example.com/0");
+            assertThat(archive.toString()).contains("1 disk reads");
+        }
+    }
+
+    @Test
+    void testReplayIsFasterThanLive() throws Exception {
+        String url = FixtureServer.webRoot() + "web-form.html";
+        WebDriver driver = PrewarmingDriverProvider.chrome().take();
+        try {
+            long liveMillis;
+            try (HttpReplay replay = new HttpReplay(driver,
+                    new HttpArchive(archiveDir, "web-form", HttpArchive.DEFAULT_MAX_CACHED_BYTES), HttpReplay.Mode.RECORD)) {
+                liveMillis = loadMillis(driver, url);
+                assertThat(replay.getArchive()).get().extracting(HttpArchive::size).isNotEqualTo(0);
+            }
+
+            long replayMillis;
+            try (HttpReplay replay = new HttpReplay(driver,
+                    new HttpArchive(archiveDir, "web-form", HttpArchive.DEFAULT_MAX_CACHED_BYTES), HttpReplay.Mode.REPLAY)) {
+                replayMillis = loadMillis(driver, url);
+            }
+            log.info("Live load {} ms, replayed load {} ms", liveMillis, replayMillis);
+            assertThat(driver.getTitle()).contains("Selenium WebDriver");
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private long loadMillis(WebDriver driver, String url) {
+        driver.get("about:blank");
+        long initMillis = System.currentTimeMillis();
+        driver.get(url);
+        return System.currentTimeMillis() - initMillis;
+    }
+}
@@ -0,0 +1,179 @@
+package com.wanhella.fixture;
+
+import com.wanhella.session.ResourceBlocker;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Record-and-replay of browser traffic through an {@link HttpArchive}. In record mode every response
+ * is passed through to the browser and appended to the archive; in replay mode archived responses
+ * are fulfilled locally and only misses reach the network. Select the mode with
+ * {@code -Dhttp.archive.mode=record|replay|off}; every driver the suite creates
+ * ({@code DriverResolutionCache}, {@code SharedChromeDriverService}) then shares the archive
+ * {@code -Dhttp.archive.name} (default {@code suite}) through {@link #withSuiteArchive(WebDriver)}.
+ * <p>
+ * Interception uses the CDP Fetch domain, like resource blocking, and each would replace the other's
+ * request patterns, so a driver gets one or the other: {@link #checkSuiteProperties()} rejects a suite
+ * configured for both before any driver is created, and a driver with a {@link ResourceBlocker} cannot
+ * be recorded or replayed.
+ */
+public class HttpReplay implements AutoCloseable {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String MODE_PROPERTY = "http.archive.mode";
+    public static final String DIR_PROPERTY = "http.archive.dir";
+    public static final String MAX_CACHED_BYTES_PROPERTY = "http.archive.maxCachedBytes";
+    public static final String NAME_PROPERTY = "http.archive.name";
+
+    private static final Map<WebDriver, HttpReplay> replays = Collections.synchronizedMap(new WeakHashMap<>());
+    private static HttpArchive suiteArchive;
+
+    public enum Mode {
+        RECORD, REPLAY, OFF
+    }
+
+    private final HttpArchive archive;
+    private final NetworkInterceptor interceptor;
+    private final boolean ownsArchive;
+
+    public HttpReplay(WebDriver driver, HttpArchive archive, Mode mode) {
+        this(driver, archive, mode, true);
+    }
+
+    private HttpReplay(WebDriver driver, HttpArchive archive, Mode mode, boolean ownsArchive) {
+        if (mode != Mode.OFF && ResourceBlocker.attachedTo(driver).isPresent()) {
+            throw new IllegalStateException(
+                    "Cannot record or replay a driver that blocks resources: both use the CDP Fetch domain");
+        }
+        this.archive = archive;
+        this.ownsArchive = ownsArchive;
+        this.interceptor = switch (mode) {
+            case RECORD -> new NetworkInterceptor(driver, recording(archive));
+            case REPLAY -> new NetworkInterceptor(driver, replaying(archive));
+            case OFF -> null;
+        };
+    }
+
+    public static Mode suiteMode() {
+        return Mode.valueOf(System.getProperty(MODE_PROPERTY, "off").toUpperCase());
+    }
+
+    public static HttpReplay start(WebDriver driver, String archiveName) {
+        Mode mode = suiteMode();
+        if (mode == Mode.OFF) {
+            return new HttpReplay(driver, null, mode);
+        }
+        return new HttpReplay(driver, openArchive(archiveName), mode);
+    }
+
+    /**
+     * Fails when the suite is set up both to record or replay and to block resources.
+     */
+    public static void checkSuiteProperties() {
+        if (suiteMode() != Mode.OFF && !ResourceBlocker.suiteProfiles().isEmpty()) {
+            throw new IllegalStateException(String.format("-D%s and -D%s cannot be combined: both use the CDP Fetch domain",
+                    MODE_PROPERTY, ResourceBlocker.PROFILES_PROPERTY));
+        }
+    }
+
+    /**
+     * Records or replays the driver's traffic in the suite archive when {@code -Dhttp.archive.mode} is set.
+     */
+    public static <T extends WebDriver> T withSuiteArchive(T driver) {
+        Mode mode = suiteMode();
+        if (mode != Mode.OFF && driver instanceof HasDevTools) {
+            replays.computeIfAbsent(driver, key -> new HttpReplay(key, suiteArchive(), mode, false));
+        }
+        return driver;
+    }
+
+    public static Optional<HttpReplay> attachedTo(WebDriver driver) {
+        return Optional.ofNullable(replays.get(driver));
+    }
+
+    static synchronized HttpArchive suiteArchive() {
+        if (suiteArchive == null) {
+            HttpArchive archive = openArchive(System.getProperty(NAME_PROPERTY, "suite"));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> closeQuietly(archive), "http-archive-shutdown"));
+            suiteArchive = archive;
+        }
+        return suiteArchive;
+    }
+
+    /**
+     * Closes the suite archive, so that the next driver opens it again from the current properties.
+     */
+    static synchronized void closeSuiteArchive() {
+        if (suiteArchive != null) {
+            closeQuietly(suiteArchive);
+            suiteArchive = null;
+        }
+    }
+
+    private static HttpArchive openArchive(String name) {
+        Path directory = Paths.get(System.getProperty(DIR_PROPERTY, "target/http-archive"));
+        long maxCachedBytes = Long.getLong(MAX_CACHED_BYTES_PROPERTY, HttpArchive.DEFAULT_MAX_CACHED_BYTES);
+        try {
+            return new HttpArchive(directory, name, maxCachedBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open HTTP archive " + name, e);
+        }
+    }
+
+    private static void closeQuietly(HttpArchive archive) {
+        try {
+            log.info("HTTP archive: {}", archive);
+            archive.close();
+        } catch (IOException e) {
+            log.warn("Exception closing HTTP archive", e);
+        }
+    }
+
+    static Filter recording(HttpArchive archive) {
+        return next -> req -> {
+            HttpResponse res = next.execute(req);
+            byte[] body = Contents.bytes(res.getContent());
+            archive.record(req.getMethod().toString(), req.getUri(), ArchivedResponse.of(res, body));
+            // The original stream has been consumed, so hand the browser the buffered copy
+            return res.setContent(Contents.bytes(body));
+        };
+    }
+
+    static Filter replaying(HttpArchive archive) {
+        return next -> req -> archive.lookup(req.getMethod().toString(), req.getUri())
+                .map(ArchivedResponse::toHttpResponse)
+                .orElseGet(() -> next.execute(req));
+    }
+
+    public Optional<HttpArchive> getArchive() {
+        return Optional.ofNullable(archive);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (interceptor != null) {
+            interceptor.close();
+        }
+        if (archive != null && ownsArchive) {
+            log.info("HTTP archive: {}", archive);
+            archive.close();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.wanhella.fixture;
+
+import com.wanhella.session.DriverResolutionCache;
+import com.wanhella.session.ResourceBlocker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Isolated
+public class HttpReplayTest {
+
+    @TempDir
+    Path archiveDir;
+
+    @AfterEach
+    void teardown() {
+        System.clearProperty(HttpReplay.MODE_PROPERTY);
+        System.clearProperty(ResourceBlocker.PROFILES_PROPERTY);
+        System.clearProperty(HttpReplay.DIR_PROPERTY);
+        HttpReplay.closeSuiteArchive();
+    }
+
+    @Test
+    void testReplayWithNetworkCutOff() throws Exception {
+        Path web = Paths.get(FixtureServer.class.getClassLoader().getResource("web").toURI());
+        FixtureServer server = new FixtureServer(web, 0);
+        String url = server.getRootUrl() + "web-form.html";
+        System.setProperty(HttpReplay.DIR_PROPERTY, archiveDir.toString());
+
+        System.setProperty(HttpReplay.MODE_PROPERTY, "record");
+        WebDriver recording = DriverResolutionCache.create("chrome");
+        try {
+            assertThat(HttpReplay.attachedTo(recording)).isPresent();
+            recording.get(url);
+            assertThat(recording.getTitle()).contains("Selenium WebDriver");
+        } finally {
+            recording.quit();
+            server.close();
+        }
+        assertThat(HttpReplay.suiteArchive().size()).isNotZero();
+        HttpReplay.closeSuiteArchive();
+
+        // The server is gone, so everything below comes from the archive
+        System.setProperty(HttpReplay.MODE_PROPERTY, "replay");
+        WebDriver replaying = DriverResolutionCache.create("chrome");
+        try {
+            replaying.get(url);
+            assertThat(replaying.getTitle()).contains("Selenium WebDriver");
+        } finally {
+            replaying.quit();
+        }
+    }
+
+    @Test
+    void testOffByDefault() {
+        WebDriver driver = DriverResolutionCache.create("chrome");
+        try {
+            assertThat(HttpReplay.attachedTo(driver)).isEmpty();
+        } finally {
+            driver.quit();
+        }
+    }
+
+    @Test
+    void testRefusesToCombineWithBlocking() {
+        System.setProperty(HttpReplay.MODE_PROPERTY, "replay");
+        System.setProperty(ResourceBlocker.PROFILES_PROPERTY, "no-images");
+        assertThatThrownBy(() -> DriverResolutionCache.create("chrome", new ImmutableCapabilities()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(ResourceBlocker.PROFILES_PROPERTY);
+    }
+}
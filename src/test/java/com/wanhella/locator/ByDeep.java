@@ -0,0 +1,170 @@
+package com.wanhella.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Searches through every open shadow root under the context, and optionally every same-origin frame,
+ * in one script. Matches come back light DOM first, then shadow trees in document order, then frames.
+ * <p>
+ * Matches inside frames are {@link FramedElement}s: they carry their frame path and switch to it
+ * through the driver's {@link FrameTracker} when used, which skips the switch when the driver is
+ * already there. Frames are only searched when the current frame's own path can be worked out, i.e.
+ * when all its ancestors are same-origin too. XPath cannot cross shadow boundaries and is not supported.
+ */
+public class ByDeep extends By {
+
+    static final String DEEP_FIND_FUNCTION = ScriptLocators.FIND_ALL_FUNCTION + """
+            function deepFind(using, value, scope) {
+              const found = findAll(using, value, scope);
+              const hosts = scope.shadowRoot ? [scope] : [];
+              hosts.push(...Array.from(scope.querySelectorAll('*')).filter(element => element.shadowRoot));
+              hosts.forEach(host => found.push(...deepFind(using, value, host.shadowRoot)));
+              return found;
+            }
+            """;
+    private static final String SEARCH_SCRIPT = DEEP_FIND_FUNCTION + """
+            const [using, value, root, intoFrames] = arguments;
+            function framePath(win) {
+              const path = [];
+              try {
+                for (; win !== win.parent; win = win.parent) {
+                  path.unshift(Array.prototype.indexOf.call(win.parent.frames, win));
+                }
+              } catch (e) {
+                return null;
+              }
+              return path;
+            }
+            function frameIndex(frame) {
+              const parent = frame.ownerDocument.defaultView;
+              for (let i = 0; i < parent.frames.length; i++) {
+                if (parent.frames[i] === frame.contentWindow) {
+                  return i;
+                }
+              }
+              return -1;
+            }
+            const base = framePath(window);
+            const matches = deepFind(using, value, root || document).map(element => ({element: element, path: [], ordinal: 0}));
+            if (intoFrames && base !== null) {
+              const pending = [{scope: root || document, path: []}];
+              while (pending.length > 0) {
+                const {scope, path} = pending.shift();
+                for (const frame of deepFind('css selector', 'iframe, frame', scope)) {
+                  let doc;
+                  try {
+                    doc = frame.contentDocument;
+                  } catch (e) {
+                    doc = null;
+                  }
+                  const index = frameIndex(frame);
+                  if (doc && index >= 0) {
+                    const framed = path.concat([index]);
+                    deepFind(using, value, doc).forEach((element, ordinal) =>
+                        matches.push({element: null, path: framed, ordinal: ordinal}));
+                    pending.push({scope: doc, path: framed});
+                  }
+                }
+              }
+            }
+            return {base: base, matches: matches};
+            """;
+
+    private final By locator;
+    private final String using;
+    private final String value;
+    private final boolean intoFrames;
+
+    private ByDeep(By locator, boolean intoFrames) {
+        By.Remotable.Parameters parameters = ScriptLocators.parameters(locator)
+                .filter(remote -> !remote.using().equals("xpath"))
+                .orElseThrow(() -> new IllegalArgumentException("Cannot search shadow roots using " + locator));
+        this.locator = locator;
+        // Shadow roots have querySelectorAll but no getElementsByTagName
+        this.using = parameters.using().equals("tag name") ? "css selector" : parameters.using();
+        this.value = (String) parameters.value();
+        this.intoFrames = intoFrames;
+    }
+
+    public static ByDeep cssSelector(String cssSelector) {
+        return new ByDeep(By.cssSelector(cssSelector), false);
+    }
+
+    public static ByDeep of(By locator) {
+        return new ByDeep(locator, false);
+    }
+
+    /**
+     * Also searches same-origin iframes and frames, at any depth.
+     */
+    public ByDeep intoFrames() {
+        return new ByDeep(locator, true);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<WebElement> findElements(SearchContext context) {
+        JavascriptExecutor js = ScriptLocators.executor(context);
+        WebDriver driver = context instanceof WebDriver webDriver ? webDriver
+                : context instanceof WrapsDriver wrapsDriver ? wrapsDriver.getWrappedDriver() : null;
+        if (js == null || driver == null) {
+            return context.findElements(locator);
+        }
+        WebElement root = context instanceof WebElement element ? element : null;
+        Map<String, Object> result = (Map<String, Object>) js.executeScript(SEARCH_SCRIPT, using, value, root, intoFrames);
+
+        FrameTracker tracker = FrameTracker.of(driver);
+        List<Integer> base = toPath((List<Number>) result.get("base"));
+        if (base != null) {
+            tracker.sync(base);
+        }
+        List<WebElement> found = new ArrayList<>();
+        for (Map<String, Object> match : (List<Map<String, Object>>) result.get("matches")) {
+            WebElement element = (WebElement) match.get("element");
+            if (element != null) {
+                found.add(base == null ? element : new FramedElement(tracker, base, element, this, 0));
+            } else {
+                List<Integer> path = new ArrayList<>(base);
+                path.addAll(toPath((List<Number>) match.get("path")));
+                found.add(new FramedElement(tracker, path, null, this, ((Number) match.get("ordinal")).intValue()));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        List<WebElement> found = findElements(context);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + this);
+        }
+        return found.get(0);
+    }
+
+    String using() {
+        return using;
+    }
+
+    String value() {
+        return value;
+    }
+
+    private static List<Integer> toPath(List<Number> path) {
+        return path == null ? null : path.stream().map(Number::intValue).toList();
+    }
+
+    @Override
+    public String toString() {
+        return "By.deep" + (intoFrames ? " (into frames)" : "") + ": " + locator;
+    }
+}
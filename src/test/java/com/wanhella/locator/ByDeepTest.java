@@ -0,0 +1,121 @@
+package com.wanhella.locator;
+
+import com.wanhella.CommandCounter;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverPoolExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@ExtendWith(DriverPoolExtension.class)
+public class ByDeepTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String WEB_FORM_URL = FixtureServer.webRoot() + "web-form.html";
+    private static final String COMPONENTS_SCRIPT = """
+            const outer = document.createElement('div');
+            outer.id = 'outer';
+            document.body.appendChild(outer);
+            const outerRoot = outer.attachShadow({mode: 'open'});
+            outerRoot.innerHTML = '<p class="deep">Level 1</p><div id="inner"></div>';
+            outerRoot.getElementById('inner').attachShadow({mode: 'open'}).innerHTML = '<p class="deep">Level 2</p>';
+
+            const frame = document.createElement('iframe');
+            frame.name = 'components';
+            frame.srcdoc = `<p class="deep">Frame</p><div id="host"></div>
+                <script>document.getElementById('host').attachShadow({mode: 'open'}).innerHTML = '<p class="deep">Frame shadow</p>';</script>
+                <iframe srcdoc='<p class="deep">Nested frame</p>'></iframe>`;
+            document.body.appendChild(frame);
+            """;
+
+    WebDriver driver;
+    // Elements found through the decorated driver come back wrapped; frame paths are read on raw ones
+    WebDriver raw;
+    CommandCounter counter;
+    FrameTracker tracker;
+
+    @BeforeEach
+    void setup(WebDriver driver) {
+        raw = driver;
+        counter = new CommandCounter();
+        tracker = FrameTracker.of(driver);
+        // Not quit here: the pooled driver underneath goes back to the pool after each test
+        this.driver = new EventFiringDecorator<>(counter, tracker).decorate(driver);
+        this.driver.get(WEB_FORM_URL);
+        ((JavascriptExecutor) this.driver).executeScript(COMPONENTS_SCRIPT);
+        new WebDriverWait(this.driver, Duration.ofSeconds(5))
+                .until(d -> d.findElements(ByDeep.cssSelector("p.deep").intoFrames()).size() == 5);
+    }
+
+    @Test
+    void testShadowRoots() {
+        counter.reset();
+        SearchContext outerRoot = driver.findElement(By.id("outer")).getShadowRoot();
+        String level1 = outerRoot.findElement(By.cssSelector("p.deep")).getText();
+        SearchContext innerRoot = outerRoot.findElement(By.id("inner")).getShadowRoot();
+        String level2 = innerRoot.findElement(By.cssSelector("p.deep")).getText();
+        long hopCommands = counter.total();
+
+        counter.reset();
+        List<WebElement> found = driver.findElements(ByDeep.cssSelector("p.deep"));
+        long deepCommands = counter.total();
+        assertThat(found).extracting(WebElement::getText).containsExactly(level1, level2);
+
+        log.info("Two shadow levels: {} commands hopping through shadow roots, {} with ByDeep",
+                hopCommands, deepCommands);
+        assertThat(deepCommands).isEqualTo(1);
+    }
+
+    @Test
+    void testFrames() {
+        List<WebElement> found = raw.findElements(ByDeep.cssSelector("p.deep").intoFrames());
+        assertThat(found).extracting(element -> ((FramedElement) element).getFramePath())
+                .containsExactly(List.of(), List.of(), List.of(0), List.of(0), List.of(0, 0));
+
+        long switches = tracker.switches();
+        assertThat(found).extracting(WebElement::getText)
+                .containsExactly("Level 1", "Level 2", "Frame", "Frame shadow", "Nested frame");
+        // Into [0], one more hop to [0, 0], then back to the top for the first element
+        found.get(0).click();
+        assertThat(tracker.switches() - switches).isEqualTo(3);
+        assertThat(tracker.current()).isEmpty();
+        log.info("{}", tracker);
+    }
+
+    @Test
+    void testSwitchesMadeElsewhere() {
+        List<WebElement> found = raw.findElements(ByDeep.cssSelector("p.deep").intoFrames());
+
+        driver.switchTo().frame(0);
+        assertThat(tracker.current()).containsExactly(0);
+        long switches = tracker.switches();
+        assertThat(found.get(2).getText()).isEqualTo("Frame");
+        assertThat(tracker.switches()).isEqualTo(switches);
+
+        // Searching from inside a frame still reports paths from the top
+        List<WebElement> nested = raw.findElements(ByDeep.cssSelector("p.deep").intoFrames());
+        assertThat(nested).extracting(element -> ((FramedElement) element).getFramePath())
+                .containsExactly(List.of(0), List.of(0), List.of(0, 0));
+
+        driver.switchTo().defaultContent();
+        driver.switchTo().frame("components");
+        assertThat(tracker.current()).isNull();
+        assertThat(found.get(0).getText()).isEqualTo("Level 1");
+        assertThat(tracker.current()).isEmpty();
+    }
+}
@@ -0,0 +1,48 @@
+package com.wanhella.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ByAll;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link ByAll} resolved in a single command instead of one findElements per locator. Same results
+ * in the same order, duplicates included; falls back to ByAll when a locator cannot be resolved in
+ * the page.
+ */
+public class ByFastAll extends ByAll implements CompositeLocators.Compilable {
+    private final By[] bys;
+
+    public ByFastAll(By... bys) {
+        super(bys);
+        this.bys = bys;
+    }
+
+    @Override
+    public Optional<Map<String, Object>> spec() {
+        return CompositeLocators.spec("all", bys);
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        return spec().flatMap(spec -> CompositeLocators.find(context, spec, false))
+                .orElseGet(() -> super.findElements(context));
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        Optional<List<WebElement>> found = spec().flatMap(spec -> CompositeLocators.find(context, spec, true));
+        if (found.isEmpty()) {
+            return super.findElement(context);
+        }
+        if (found.get().isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + this);
+        }
+        return found.get().get(0);
+    }
+}
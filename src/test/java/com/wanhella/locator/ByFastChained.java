@@ -0,0 +1,48 @@
+package com.wanhella.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ByChained;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link ByChained} resolved in a single command instead of one findElements per level and parent.
+ * Same results in the same order, duplicates included; falls back to ByChained when a part cannot be
+ * resolved in the page.
+ */
+public class ByFastChained extends ByChained implements CompositeLocators.Compilable {
+    private final By[] bys;
+
+    public ByFastChained(By... bys) {
+        super(bys);
+        this.bys = bys;
+    }
+
+    @Override
+    public Optional<Map<String, Object>> spec() {
+        return CompositeLocators.spec("chain", bys);
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        return spec().flatMap(spec -> CompositeLocators.find(context, spec, false))
+                .orElseGet(() -> super.findElements(context));
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        Optional<List<WebElement>> found = spec().flatMap(spec -> CompositeLocators.find(context, spec, true));
+        if (found.isEmpty()) {
+            return super.findElement(context);
+        }
+        if (found.get().isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + this);
+        }
+        return found.get().get(0);
+    }
+}
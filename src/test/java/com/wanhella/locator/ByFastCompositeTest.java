@@ -0,0 +1,120 @@
+package com.wanhella.locator;
+
+import com.wanhella.CommandCounter;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverPoolExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.pagefactory.ByAll;
+import org.openqa.selenium.support.pagefactory.ByChained;
+import org.openqa.selenium.support.pagefactory.ByIdOrName;
+import org.slf4j.Logger;
+
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@ExtendWith(DriverPoolExtension.class)
+public class ByFastCompositeTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String WEB_FORM_URL = FixtureServer.webRoot() + "web-form.html";
+    private static final String GRID_SCRIPT = """
+            const table = document.createElement('table');
+            table.id = 'grid';
+            for (let r = 0; r < 50; r++) {
+              const row = table.insertRow();
+              row.className = 'row';
+              for (let c = 0; c < 6; c++) {
+                const cell = row.insertCell();
+                cell.className = 'cell';
+                cell.textContent = r + ':' + c;
+              }
+            }
+            document.body.appendChild(table);
+            """;
+    private static final int LOOKUPS = 10;
+
+    WebDriver driver;
+    CommandCounter counter;
+
+    @BeforeEach
+    void setup(WebDriver driver) {
+        counter = new CommandCounter();
+        // Not quit here: the pooled driver underneath goes back to the pool after each test
+        this.driver = new EventFiringDecorator<>(counter).decorate(driver);
+        this.driver.get(WEB_FORM_URL);
+    }
+
+    @Test
+    void testSameResultsAsOriginals() {
+        assertSame(new ByChained(By.tagName("form"), By.className("row")),
+                new ByFastChained(By.tagName("form"), By.className("row")));
+        assertSame(new ByAll(By.tagName("form"), By.className("row")),
+                new ByFastAll(By.tagName("form"), By.className("row")));
+        assertSame(new ByIdOrName("my-file"), new ByFastIdOrName("my-file"));
+        assertSame(new ByIdOrName("my-text-id"), new ByFastIdOrName("my-text-id"));
+
+        // Nested composites, duplicates and an XPath searching the whole document from each parent
+        assertSame(new ByChained(By.tagName("label"), new ByAll(By.tagName("input"), By.cssSelector("[name]"))),
+                new ByFastChained(By.tagName("label"), new ByFastAll(By.tagName("input"), By.cssSelector("[name]"))));
+        assertSame(new ByChained(By.className("row"), By.xpath("//a")),
+                new ByFastChained(By.className("row"), By.xpath("//a")));
+
+        WebElement form = driver.findElement(By.tagName("form"));
+        assertThat(form.findElements(new ByFastAll(By.tagName("select"), By.tagName("datalist"))))
+                .isEqualTo(form.findElements(new ByAll(By.tagName("select"), By.tagName("datalist"))));
+        assertThat(driver.findElement(new ByFastIdOrName("my-file")).getAttribute("name")).isEqualTo("my-file");
+    }
+
+    @Test
+    void testCommandsAndLatency() {
+        ((JavascriptExecutor) driver).executeScript(GRID_SCRIPT);
+        compare("ByChained", new ByChained(By.id("grid"), By.className("row"), By.className("cell")),
+                new ByFastChained(By.id("grid"), By.className("row"), By.className("cell")));
+        compare("ByAll", new ByAll(By.className("row"), By.className("cell"), By.tagName("td")),
+                new ByFastAll(By.className("row"), By.className("cell"), By.tagName("td")));
+        compare("ByIdOrName", new ByIdOrName("my-check"), new ByFastIdOrName("my-check"));
+    }
+
+    // Called on the decorated driver directly, so that the commands each locator sends are counted
+    private void assertSame(By original, By fast) {
+        List<WebElement> expected = original.findElements(driver);
+        counter.reset();
+        assertThat(fast.findElements(driver)).as(fast.toString()).isNotEmpty().isEqualTo(expected);
+        assertThat(counter.total()).isEqualTo(1);
+    }
+
+    private void compare(String name, By original, By fast) {
+        counter.reset();
+        long initNanos = System.nanoTime();
+        List<WebElement> expected = null;
+        for (int i = 0; i < LOOKUPS; i++) {
+            expected = original.findElements(driver);
+        }
+        double originalMillis = (System.nanoTime() - initNanos) / 1_000_000.0 / LOOKUPS;
+        long originalCommands = counter.total() / LOOKUPS;
+
+        counter.reset();
+        initNanos = System.nanoTime();
+        List<WebElement> found = null;
+        for (int i = 0; i < LOOKUPS; i++) {
+            found = fast.findElements(driver);
+        }
+        double fastMillis = (System.nanoTime() - initNanos) / 1_000_000.0 / LOOKUPS;
+        long fastCommands = counter.total() / LOOKUPS;
+
+        log.info(String.format("%-12s %4d matches: original %4d commands %8.2f ms, single script %d command %8.2f ms",
+                name, expected.size(), originalCommands, originalMillis, fastCommands, fastMillis));
+        assertThat(found).isEqualTo(expected);
+        assertThat(fastCommands).isEqualTo(1);
+    }
+}
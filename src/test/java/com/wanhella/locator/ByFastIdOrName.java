@@ -0,0 +1,47 @@
+package com.wanhella.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ByIdOrName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link ByIdOrName} resolved in a single command instead of an id lookup followed by a name lookup.
+ * Same results in the same order: elements by id, then by name, an element matching both listed twice.
+ */
+public class ByFastIdOrName extends ByIdOrName implements CompositeLocators.Compilable {
+    private final String idOrName;
+
+    public ByFastIdOrName(String idOrName) {
+        super(idOrName);
+        this.idOrName = idOrName;
+    }
+
+    @Override
+    public Optional<Map<String, Object>> spec() {
+        return CompositeLocators.spec("all", By.id(idOrName), By.name(idOrName));
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        return spec().flatMap(spec -> CompositeLocators.find(context, spec, false))
+                .orElseGet(() -> super.findElements(context));
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        Optional<List<WebElement>> found = spec().flatMap(spec -> CompositeLocators.find(context, spec, true));
+        if (found.isEmpty()) {
+            return super.findElement(context);
+        }
+        if (found.get().isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + this);
+        }
+        return found.get().get(0);
+    }
+}
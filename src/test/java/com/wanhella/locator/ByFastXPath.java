@@ -0,0 +1,95 @@
+package com.wanhella.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * XPath locator that looks elements up with the equivalent CSS selector whenever
+ * {@link XPathTranslator} has one. Text predicates are applied by a script on top of the CSS query,
+ * still in a single command; expressions without a translation run as plain XPath.
+ * <p>
+ * Deliberately not {@link By.Remotable}: the driver would then send the locator's remote parameters
+ * itself and never call {@link #findElements(SearchContext)}.
+ */
+public class ByFastXPath extends By {
+
+    private static final String TEXT_FILTER_SCRIPT = """
+            const [css, match, text, root] = arguments;
+            const textNodes = element => Array.from(element.childNodes).filter(node => node.nodeType === Node.TEXT_NODE);
+            return Array.from((root || document).querySelectorAll(css)).filter(element => {
+              switch (match) {
+                case 'TEXT_EQUALS': return textNodes(element).some(node => node.nodeValue === text);
+                case 'TEXT_CONTAINS': {
+                  const first = textNodes(element)[0];
+                  return first !== undefined && first.nodeValue.includes(text);
+                }
+                case 'STRING_EQUALS': return element.textContent === text;
+                case 'STRING_CONTAINS': return element.textContent.includes(text);
+                case 'NORMALIZED_EQUALS': return element.textContent.replace(/\\s+/g, ' ').trim() === text;
+              }
+              return false;
+            });
+            """;
+
+    private final String xpath;
+
+    public ByFastXPath(String xpath) {
+        this.xpath = xpath;
+    }
+
+    public static ByFastXPath xpath(String xpath) {
+        return new ByFastXPath(xpath);
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        Optional<XPathTranslator.Translation> translation = translationFor(context);
+        if (translation.isEmpty()) {
+            return context.findElements(By.xpath(xpath));
+        }
+        XPathTranslator.Translation css = translation.get();
+        if (!css.needsScript()) {
+            return context.findElements(By.cssSelector(css.css()));
+        }
+        JavascriptExecutor js = ScriptLocators.executor(context);
+        if (js == null) {
+            return context.findElements(By.xpath(xpath));
+        }
+        WebElement root = context instanceof WebElement element ? element : null;
+        @SuppressWarnings("unchecked")
+        List<WebElement> found = (List<WebElement>) js.executeScript(TEXT_FILTER_SCRIPT,
+                css.css(), css.textMatch().name(), css.text(), root);
+        return found;
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        List<WebElement> found = findElements(context);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + this);
+        }
+        return found.get(0);
+    }
+
+    private Optional<XPathTranslator.Translation> translationFor(SearchContext context) {
+        // From an element, "//" still means the whole document in XPath but only descendants in CSS;
+        // from the driver, "./" means children of the document node, which CSS has no selector for
+        boolean relative = xpath.startsWith(".//") || (xpath.startsWith("./") && context instanceof WebElement);
+        boolean fromDocument = xpath.startsWith("//") && !(context instanceof WebElement);
+        if (!relative && !fromDocument) {
+            return Optional.empty();
+        }
+        return XPathTranslator.translate(xpath);
+    }
+
+    @Override
+    public String toString() {
+        return "By.fastXPath: " + xpath;
+    }
+}
@@ -0,0 +1,101 @@
+package com.wanhella.locator;
+
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverPoolExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@ExtendWith(DriverPoolExtension.class)
+public class ByFastXPathTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String WEB_FORM_URL = FixtureServer.webRoot() + "web-form.html";
+    private static final int LOOKUPS = 50;
+    private static final List<String> EXPRESSIONS = List.of(
+            "//input[@type='hidden']",
+            "//*[@type='radio' and @checked]",
+            "//*[@type='radio' and not(@checked)]",
+            "//input[contains(@name,'my-') and starts-with(@class,'form')]",
+            "//select/option[2]",
+            "//form//label/input[@type='checkbox']",
+            "//a[text()='Return to index']",
+            "//label[contains(text(),'Password')]",
+            "//p[normalize-space()='Copyright © 2021-2023']",
+            "//label[input]");
+
+    @Test
+    void testTranslations() {
+        assertThat(XPathTranslator.translate("//input[@type='hidden']"))
+                .get().extracting(XPathTranslator.Translation::css).isEqualTo("input[type=\"hidden\"]");
+        assertThat(XPathTranslator.translate("//*[@type='radio' and not(@checked)]"))
+                .get().extracting(XPathTranslator.Translation::css).isEqualTo("*[type=\"radio\"]:not([checked])");
+        assertThat(XPathTranslator.translate("//select/option[2]"))
+                .get().extracting(XPathTranslator.Translation::css).isEqualTo("select > option:nth-of-type(2)");
+
+        XPathTranslator.Translation text = XPathTranslator.translate("//span[text()='1']").orElseThrow();
+        assertThat(text.css()).isEqualTo("span");
+        assertThat(text.textMatch()).isEqualTo(XPathTranslator.TextMatch.TEXT_EQUALS);
+        assertThat(text.text()).isEqualTo("1");
+
+        assertThat(XPathTranslator.translate("//label[input]")).isEmpty();
+        assertThat(XPathTranslator.translate("//td[@class='day' or @class='new day']")).isEmpty();
+        assertThat(XPathTranslator.translate("(//p)[1]")).isEmpty();
+        assertThat(XPathTranslator.translate("//a/following-sibling::a")).isEmpty();
+        // The second span among those with the text, which nth-of-type cannot express
+        assertThat(XPathTranslator.translate("//span[text()='1'][2]")).isEmpty();
+        assertThat(XPathTranslator.translate("//input[contains(@name,'')]")).isEmpty();
+        assertThat(XPathTranslator.translate("//input[starts-with(@name,'')]")).isEmpty();
+
+        int cached = XPathTranslator.cachedExpressions();
+        XPathTranslator.translate("//input[@type='hidden']");
+        assertThat(XPathTranslator.cachedExpressions()).isEqualTo(cached);
+    }
+
+    @Test
+    void testSameElementsAsXPath(WebDriver driver) {
+        driver.get(WEB_FORM_URL);
+        for (String xpath : EXPRESSIONS) {
+            assertThat(driver.findElements(ByFastXPath.xpath(xpath)))
+                    .as(xpath)
+                    .isNotEmpty()
+                    .isEqualTo(driver.findElements(By.xpath(xpath)));
+        }
+        WebElement form = driver.findElement(By.tagName("form"));
+        assertThat(form.findElements(ByFastXPath.xpath(".//input[@type='radio']")))
+                .isEqualTo(form.findElements(By.xpath(".//input[@type='radio']")));
+    }
+
+    @Test
+    void testLookupLatency(WebDriver driver) {
+        driver.get(WEB_FORM_URL);
+        log.info(String.format("%-70s %10s %10s %10s", "expression", "xpath ms", "fast ms", "css ms"));
+        for (String xpath : EXPRESSIONS) {
+            double xpathMillis = averageLookupMillis(driver, By.xpath(xpath));
+            double fastMillis = averageLookupMillis(driver, ByFastXPath.xpath(xpath));
+            String css = XPathTranslator.translate(xpath)
+                    .filter(translation -> !translation.needsScript())
+                    .map(translation -> String.format("%10.3f", averageLookupMillis(driver, By.cssSelector(translation.css()))))
+                    .orElse(String.format("%10s", "-"));
+            log.info(String.format("%-70s %10.3f %10.3f %s", xpath, xpathMillis, fastMillis, css));
+        }
+    }
+
+    private double averageLookupMillis(WebDriver driver, By locator) {
+        driver.findElements(locator);
+        long initNanos = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            driver.findElements(locator);
+        }
+        return (System.nanoTime() - initNanos) / 1_000_000.0 / LOOKUPS;
+    }
+}
@@ -0,0 +1,96 @@
+package com.wanhella.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Evaluates a tree of chained and alternative locators in the page, in one script. The tree follows
+ * the support-package semantics exactly: a chain searches each level under every element of the
+ * previous one and concatenates, alternatives are concatenated in order, and nothing is de-duplicated.
+ */
+final class CompositeLocators {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String EVALUATE_SCRIPT = ScriptLocators.FIND_ALL_FUNCTION + """
+            function evaluate(spec, root) {
+              switch (spec.kind) {
+                case 'find':
+                  return findAll(spec.using, spec.value, root);
+                case 'all':
+                  return spec.parts.flatMap(part => evaluate(part, root));
+                case 'chain': {
+                  let found = null;
+                  for (const part of spec.parts) {
+                    found = found === null ? evaluate(part, root) : found.flatMap(element => evaluate(part, element));
+                  }
+                  return found || [];
+                }
+              }
+              throw new Error('Unsupported composite ' + spec.kind);
+            }
+            const found = evaluate(arguments[0], arguments[1]);
+            return arguments[2] ? found.slice(0, 1) : found;
+            """;
+
+    /**
+     * A locator that can describe itself as a tree node for {@link #find(SearchContext, Map, boolean)}.
+     */
+    interface Compilable {
+        Optional<Map<String, Object>> spec();
+    }
+
+    private CompositeLocators() {
+    }
+
+    static Optional<Map<String, Object>> spec(By locator) {
+        if (locator instanceof Compilable compilable) {
+            return compilable.spec();
+        }
+        return ScriptLocators.parameters(locator)
+                .map(parameters -> Map.of("kind", "find", "using", parameters.using(), "value", parameters.value()));
+    }
+
+    static Optional<Map<String, Object>> spec(String kind, By... parts) {
+        List<Map<String, Object>> specs = new ArrayList<>();
+        for (By part : parts) {
+            Optional<Map<String, Object>> spec = spec(part);
+            if (spec.isEmpty()) {
+                return Optional.empty();
+            }
+            specs.add(spec.get());
+        }
+        return Optional.of(Map.of("kind", kind, "parts", specs));
+    }
+
+    /**
+     * Runs the tree from the given context, or returns empty when the caller has to fall back to the
+     * original lookup: no script access from that context, or a script error (e.g. an invalid selector,
+     * which the original lookup reports with the driver's own exception).
+     */
+    @SuppressWarnings("unchecked")
+    static Optional<List<WebElement>> find(SearchContext context, Map<String, Object> spec, boolean firstOnly) {
+        JavascriptExecutor js = ScriptLocators.executor(context);
+        if (js == null) {
+            return Optional.empty();
+        }
+        WebElement root = context instanceof WebElement element ? element : null;
+        try {
+            return Optional.of((List<WebElement>) js.executeScript(EVALUATE_SCRIPT, spec, root, firstOnly));
+        } catch (JavascriptException e) {
+            log.debug("Falling back to the original lookup for {}", spec, e);
+            return Optional.empty();
+        }
+    }
+}
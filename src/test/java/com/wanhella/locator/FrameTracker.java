@@ -0,0 +1,157 @@
+package com.wanhella.locator;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps track of the frame a driver is switched to, as the path of {@code window.frames} indexes from
+ * the top-level document, so that {@link #switchTo(List)} only sends the hops that are missing.
+ * Switches made elsewhere are seen when the tracker is also registered on the driver with an
+ * {@code EventFiringDecorator}; a switch by name or element makes the position unknown, and the
+ * next {@link #switchTo(List)} then starts again from the top.
+ * <p>
+ * The tracker only holds its driver weakly, so the registry does not keep quit sessions alive, and
+ * it drops itself from the registry when it sees the driver quit.
+ */
+public class FrameTracker implements WebDriverListener {
+    private static final Map<WebDriver, FrameTracker> trackers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WeakReference<WebDriver> driver;
+    // null when unknown
+    private List<Integer> current = List.of();
+    private boolean switching;
+    private long switches;
+    private long skipped;
+
+    FrameTracker(WebDriver driver) {
+        this.driver = new WeakReference<>(driver);
+    }
+
+    public static FrameTracker of(WebDriver driver) {
+        return trackers.computeIfAbsent(driver, FrameTracker::new);
+    }
+
+    WebDriver driver() {
+        WebDriver tracked = driver.get();
+        if (tracked == null) {
+            throw new NoSuchSessionException("The driver of this frame tracker is gone");
+        }
+        return tracked;
+    }
+
+    public List<Integer> current() {
+        return current;
+    }
+
+    public void switchTo(List<Integer> path) {
+        if (path.equals(current)) {
+            skipped++;
+            return;
+        }
+        switching = true;
+        try {
+            List<Integer> from = current;
+            if (from == null || from.size() > path.size() || !path.subList(0, from.size()).equals(from)) {
+                current = null;
+                driver().switchTo().defaultContent();
+                switches++;
+                from = List.of();
+            }
+            for (int hop = from.size(); hop < path.size(); hop++) {
+                driver().switchTo().frame(path.get(hop));
+                switches++;
+            }
+            current = List.copyOf(path);
+        } finally {
+            switching = false;
+        }
+    }
+
+    /**
+     * Records a position learned some other way, e.g. computed by a script running in the frame.
+     */
+    void sync(List<Integer> path) {
+        current = path == null ? null : List.copyOf(path);
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (switching || !(target instanceof WebDriver.TargetLocator)) {
+            return;
+        }
+        switch (method.getName()) {
+            case "frame" -> {
+                if (args[0] instanceof Integer index && current != null) {
+                    List<Integer> path = new ArrayList<>(current);
+                    path.add(index);
+                    current = List.copyOf(path);
+                } else {
+                    current = null;
+                }
+            }
+            case "parentFrame" -> current = current == null || current.isEmpty()
+                    ? current : current.subList(0, current.size() - 1);
+            case "defaultContent", "window", "newWindow" -> current = List.of();
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void afterQuit(WebDriver driver) {
+        trackers.values().remove(this);
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        current = List.of();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        current = List.of();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, URL url) {
+        current = List.of();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        current = List.of();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        current = List.of();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        current = List.of();
+    }
+
+    public long switches() {
+        return switches;
+    }
+
+    public long skipped() {
+        return skipped;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("in frame %s, %d switch(es) sent, %d skipped", current, switches, skipped);
+    }
+}
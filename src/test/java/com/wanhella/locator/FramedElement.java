@@ -0,0 +1,207 @@
+package com.wanhella.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+
+import java.util.List;
+
+/**
+ * An element found by {@link ByDeep}, together with the path of the frame it lives in. Every call
+ * first has the {@link FrameTracker} switch to that frame, which costs nothing when the driver is
+ * already there. Elements inside frames are resolved on first use, by repeating the deep search
+ * in their own document.
+ */
+public class FramedElement implements WebElement, WrapsElement, WrapsDriver {
+    private static final String RESOLVE_SCRIPT = ByDeep.DEEP_FIND_FUNCTION
+            + "return deepFind(arguments[0], arguments[1], document)[arguments[2]] || null;";
+
+    private final FrameTracker tracker;
+    private final List<Integer> framePath;
+    private final ByDeep locator;
+    private final int ordinal;
+    private WebElement element;
+
+    FramedElement(FrameTracker tracker, List<Integer> framePath, WebElement element, ByDeep locator, int ordinal) {
+        this.tracker = tracker;
+        this.framePath = List.copyOf(framePath);
+        this.element = element;
+        this.locator = locator;
+        this.ordinal = ordinal;
+    }
+
+    public List<Integer> getFramePath() {
+        return framePath;
+    }
+
+    /**
+     * Switches to the element's frame and returns the element, valid in that frame.
+     */
+    @Override
+    public WebElement getWrappedElement() {
+        WebDriver driver = getWrappedDriver();
+        tracker.switchTo(framePath);
+        if (element == null) {
+            element = (WebElement) ((JavascriptExecutor) driver).executeScript(RESOLVE_SCRIPT,
+                    locator.using(), locator.value(), ordinal);
+            if (element == null) {
+                throw new NoSuchElementException("Element " + ordinal + " of " + locator + " is gone from frame " + framePath);
+            }
+        }
+        return element;
+    }
+
+    @Override
+    public WebDriver getWrappedDriver() {
+        return tracker.driver();
+    }
+
+    @Override
+    public void click() {
+        getWrappedElement().click();
+    }
+
+    @Override
+    public void submit() {
+        getWrappedElement().submit();
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        getWrappedElement().sendKeys(keysToSend);
+    }
+
+    @Override
+    public void clear() {
+        getWrappedElement().clear();
+    }
+
+    @Override
+    public String getTagName() {
+        return getWrappedElement().getTagName();
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return getWrappedElement().getDomProperty(name);
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return getWrappedElement().getDomAttribute(name);
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return getWrappedElement().getAttribute(name);
+    }
+
+    @Override
+    public String getAriaRole() {
+        return getWrappedElement().getAriaRole();
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return getWrappedElement().getAccessibleName();
+    }
+
+    @Override
+    public boolean isSelected() {
+        return getWrappedElement().isSelected();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return getWrappedElement().isEnabled();
+    }
+
+    @Override
+    public String getText() {
+        return getWrappedElement().getText();
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return getWrappedElement().findElements(by);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return getWrappedElement().findElement(by);
+    }
+
+    @Override
+    public SearchContext getShadowRoot() {
+        return getWrappedElement().getShadowRoot();
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return getWrappedElement().isDisplayed();
+    }
+
+    @Override
+    public Point getLocation() {
+        return getWrappedElement().getLocation();
+    }
+
+    @Override
+    public Dimension getSize() {
+        return getWrappedElement().getSize();
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return getWrappedElement().getRect();
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return getWrappedElement().getCssValue(propertyName);
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+        return getWrappedElement().getScreenshotAs(target);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FramedElement other)) {
+            return false;
+        }
+        if (!framePath.equals(other.framePath)) {
+            return false;
+        }
+        // Compared without switching frames: an element not resolved yet is only known by its lookup
+        if (element != null && other.element != null) {
+            return element.equals(other.element);
+        }
+        return element == null && other.element == null && locator.equals(other.locator) && ordinal == other.ordinal;
+    }
+
+    // The same element can be found through different locators, so only the frame goes in
+    @Override
+    public int hashCode() {
+        return framePath.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "[" + (element == null ? locator + " #" + ordinal : element) + "] in frame " + framePath;
+    }
+}
@@ -0,0 +1,359 @@
+package com.wanhella.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Client-side alternative to {@code RelativeLocator} for pages that chain many relative lookups.
+ * The bounding boxes of every element under a root are captured in one script and kept here;
+ * above/below/toLeftOf/toRightOf/near queries are then answered from the index, and each distinct
+ * candidate locator costs a single findElements for as long as the index is valid.
+ * <p>
+ * The relations and the nearest-first ordering are those of {@code RelativeLocator}, except that
+ * elements without a box (hidden, {@code display: none}) never match. Register the index on the
+ * driver with an {@code EventFiringDecorator} so that navigations and interactions, which may move
+ * things around, drop it; it is captured again on the next query. Layout changes made by the page
+ * on its own are only seen with {@link #setVerifyLayout(boolean)}, at the cost of a script per query.
+ */
+public class GeometryIndex implements WebDriverListener {
+    public static final int DEFAULT_NEAR_DISTANCE = 50;
+
+    private static final String LAYOUT_TOKEN_FUNCTION = """
+            function layoutToken() {
+              if (window.__geometryIndex === undefined) {
+                const layout = window.__geometryIndex = {page: Math.random().toString(36).slice(2), count: 0};
+                new MutationObserver(() => layout.count++).observe(document,
+                    {attributes: true, childList: true, characterData: true, subtree: true});
+                window.addEventListener('resize', () => layout.count++);
+              }
+              return window.__geometryIndex.page + ':' + window.__geometryIndex.count;
+            }
+            """;
+    private static final String CAPTURE_SCRIPT = LAYOUT_TOKEN_FUNCTION + """
+            const root = arguments[0] || document.documentElement;
+            const elements = [root, ...root.querySelectorAll('*')];
+            const boxes = elements.map(element => {
+              const bounds = element.getBoundingClientRect();
+              return [bounds.left + window.scrollX, bounds.top + window.scrollY, bounds.width, bounds.height];
+            });
+            return {elements: elements, boxes: boxes, token: layoutToken()};
+            """;
+    private static final String VERIFY_SCRIPT = LAYOUT_TOKEN_FUNCTION + "return layoutToken();";
+
+    private final WebDriver driver;
+    private final By root;
+    private final Map<WebElement, Box> boxes = new HashMap<>();
+    private final Map<By, List<WebElement>> candidates = new HashMap<>();
+    private boolean captured;
+    private boolean verifyLayout;
+    private Object layoutToken;
+    private long captures;
+    private long queries;
+
+    /**
+     * Indexes the whole document.
+     */
+    public GeometryIndex(WebDriver driver) {
+        this(driver, null);
+    }
+
+    /**
+     * Indexes the subtree of the first element matching {@code root}.
+     */
+    public GeometryIndex(WebDriver driver, By root) {
+        this.driver = driver;
+        this.root = root;
+    }
+
+    public void setVerifyLayout(boolean verifyLayout) {
+        this.verifyLayout = verifyLayout;
+    }
+
+    public Query with(By candidates) {
+        return new Query(candidates);
+    }
+
+    public void invalidate() {
+        boxes.clear();
+        candidates.clear();
+        captured = false;
+    }
+
+    private void ensureCaptured() {
+        if (captured && verifyLayout) {
+            Object token;
+            try {
+                token = ((JavascriptExecutor) driver).executeScript(VERIFY_SCRIPT);
+            } catch (WebDriverException e) {
+                token = null;
+            }
+            if (token == null || !token.equals(layoutToken)) {
+                invalidate();
+            }
+        }
+        if (!captured) {
+            capture();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void capture() {
+        WebElement rootElement = root == null ? null : driver.findElement(root);
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(CAPTURE_SCRIPT, rootElement);
+        List<WebElement> elements = (List<WebElement>) result.get("elements");
+        List<List<Number>> rects = (List<List<Number>>) result.get("boxes");
+        for (int i = 0; i < elements.size(); i++) {
+            List<Number> rect = rects.get(i);
+            boxes.put(elements.get(i), new Box(rect.get(0).doubleValue(), rect.get(1).doubleValue(),
+                    rect.get(2).doubleValue(), rect.get(3).doubleValue()));
+        }
+        layoutToken = result.get("token");
+        captured = true;
+        captures++;
+    }
+
+    private List<WebElement> candidates(By locator) {
+        return candidates.computeIfAbsent(locator, by -> {
+            SearchContext context = root == null ? driver : driver.findElement(root);
+            return context.findElements(by);
+        });
+    }
+
+    private Box anchorBox(WebElement anchor) {
+        Box box = boxes.get(anchor);
+        if (box == null) {
+            // Outside the indexed subtree: read it once, it is then kept until the index is dropped
+            Rectangle rect = anchor.getRect();
+            box = new Box(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
+            boxes.put(anchor, box);
+        }
+        return box;
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        invalidate();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        invalidate();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, URL url) {
+        invalidate();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        invalidate();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        invalidate();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        invalidate();
+    }
+
+    @Override
+    public void afterClick(WebElement element) {
+        invalidate();
+    }
+
+    @Override
+    public void afterSubmit(WebElement element) {
+        invalidate();
+    }
+
+    @Override
+    public void afterSendKeys(WebElement element, CharSequence... keysToSend) {
+        invalidate();
+    }
+
+    @Override
+    public void afterClear(WebElement element) {
+        invalidate();
+    }
+
+    public long captures() {
+        return captures;
+    }
+
+    public long queries() {
+        return queries;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d element(s) indexed, %d capture(s), %d quer(ies)", boxes.size(), captures, queries);
+    }
+
+    private record Box(double left, double top, double width, double height) {
+        double right() {
+            return left + width;
+        }
+
+        double bottom() {
+            return top + height;
+        }
+
+        double centerX() {
+            return left + width / 2;
+        }
+
+        double centerY() {
+            return top + height / 2;
+        }
+
+        boolean isEmpty() {
+            return width == 0 && height == 0;
+        }
+
+        double distanceTo(Box other) {
+            return Math.hypot(centerX() - other.centerX(), centerY() - other.centerY());
+        }
+
+        double gapTo(Box other) {
+            double dx = Math.max(0, Math.max(left - other.right(), other.left - right()));
+            double dy = Math.max(0, Math.max(top - other.bottom(), other.top - bottom()));
+            return Math.hypot(dx, dy);
+        }
+    }
+
+    /**
+     * A relative lookup in the index. Every filter narrows the candidates further; matches come back
+     * nearest first, measured from the first anchor.
+     */
+    public class Query {
+        private final By locator;
+        private final List<Filter> filters = new ArrayList<>();
+
+        private Query(By locator) {
+            this.locator = locator;
+        }
+
+        public Query above(WebElement anchor) {
+            return filter(anchor, (candidate, box) -> candidate.bottom() <= box.top());
+        }
+
+        public Query above(By anchor) {
+            return above(anchor(anchor));
+        }
+
+        public Query below(WebElement anchor) {
+            return filter(anchor, (candidate, box) -> candidate.top() >= box.bottom());
+        }
+
+        public Query below(By anchor) {
+            return below(anchor(anchor));
+        }
+
+        public Query toLeftOf(WebElement anchor) {
+            return filter(anchor, (candidate, box) -> candidate.right() <= box.left());
+        }
+
+        public Query toLeftOf(By anchor) {
+            return toLeftOf(anchor(anchor));
+        }
+
+        public Query toRightOf(WebElement anchor) {
+            return filter(anchor, (candidate, box) -> candidate.left() >= box.right());
+        }
+
+        public Query toRightOf(By anchor) {
+            return toRightOf(anchor(anchor));
+        }
+
+        public Query near(WebElement anchor) {
+            return near(anchor, DEFAULT_NEAR_DISTANCE);
+        }
+
+        public Query near(WebElement anchor, int atMostDistanceInPixels) {
+            return filter(anchor, (candidate, box) -> candidate.gapTo(box) <= atMostDistanceInPixels);
+        }
+
+        public Query near(By anchor) {
+            return near(anchor(anchor));
+        }
+
+        public Query near(By anchor, int atMostDistanceInPixels) {
+            return near(anchor(anchor), atMostDistanceInPixels);
+        }
+
+        private WebElement anchor(By anchor) {
+            ensureCaptured();
+            List<WebElement> found = candidates(anchor);
+            if (found.isEmpty()) {
+                throw new NoSuchElementException("Cannot locate the anchor " + anchor);
+            }
+            return found.get(0);
+        }
+
+        private Query filter(WebElement anchor, BiPredicate<Box, Box> relation) {
+            filters.add(new Filter(anchor, relation));
+            return this;
+        }
+
+        public List<WebElement> findElements() {
+            ensureCaptured();
+            queries++;
+            List<Box> anchors = filters.stream().map(filter -> anchorBox(filter.anchor())).toList();
+            List<WebElement> found = new ArrayList<>();
+            for (WebElement candidate : candidates(locator)) {
+                Box box = boxes.get(candidate);
+                if (box == null || box.isEmpty() || filters.stream().anyMatch(filter -> filter.anchor().equals(candidate))) {
+                    continue;
+                }
+                boolean matches = true;
+                for (int i = 0; i < filters.size() && matches; i++) {
+                    matches = filters.get(i).relation().test(box, anchors.get(i));
+                }
+                if (matches) {
+                    found.add(candidate);
+                }
+            }
+            if (!anchors.isEmpty()) {
+                Box first = anchors.get(0);
+                found.sort(Comparator.comparingDouble(candidate -> boxes.get(candidate).distanceTo(first)));
+            }
+            return found;
+        }
+
+        public WebElement findElement() {
+            List<WebElement> found = findElements();
+            if (found.isEmpty()) {
+                throw new NoSuchElementException("Cannot locate an element using " + this);
+            }
+            return found.get(0);
+        }
+
+        @Override
+        public String toString() {
+            return "GeometryIndex.with(" + locator + ") " + filters.size() + " relation(s)";
+        }
+    }
+
+    private record Filter(WebElement anchor, BiPredicate<Box, Box> relation) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.wanhella.locator;
+
+import com.wanhella.CommandCounter;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverPoolExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.locators.RelativeLocator;
+import org.slf4j.Logger;
+
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@ExtendWith(DriverPoolExtension.class)
+public class GeometryIndexTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String WEB_FORM_URL = FixtureServer.webRoot() + "web-form.html";
+    private static final int LOOKUPS = 20;
+
+    WebDriver driver;
+    CommandCounter counter;
+    GeometryIndex index;
+
+    @BeforeEach
+    void setup(WebDriver driver) {
+        counter = new CommandCounter();
+        // The index runs its own commands through the counted driver, and listens on the outer one.
+        // Not quit here: the pooled driver underneath goes back to the pool after each test
+        WebDriver counted = new EventFiringDecorator<>(counter).decorate(driver);
+        index = new GeometryIndex(counted);
+        this.driver = new EventFiringDecorator<>(index).decorate(counted);
+        this.driver.get(WEB_FORM_URL);
+    }
+
+    @Test
+    void testSameAsRelativeLocator() {
+        WebElement link = driver.findElement(By.linkText("Return to index"));
+        WebElement text = driver.findElement(By.name("my-text"));
+
+        WebElement readOnly = index.with(By.tagName("input")).above(link).findElement();
+        assertThat(readOnly.getAttribute("name")).isEqualTo("my-readonly");
+
+        List<WebElement> expected = driver.findElements(RelativeLocator.with(By.tagName("input")).below(text));
+        List<WebElement> found = index.with(By.tagName("input")).below(text).findElements();
+        assertThat(found).isNotEmpty().isSubsetOf(expected);
+        assertThat(found.get(0)).isEqualTo(expected.get(0));
+
+        expected = driver.findElements(RelativeLocator.with(By.tagName("label")).above(By.tagName("button")));
+        found = index.with(By.tagName("label")).above(By.tagName("button")).findElements();
+        assertThat(found).isNotEmpty().isSubsetOf(expected);
+        assertThat(found.get(0)).isEqualTo(expected.get(0));
+
+        WebElement radio = index.with(By.cssSelector("[type=radio]")).near(By.id("my-radio-1"), 300).findElement();
+        assertThat(radio.getAttribute("id")).isEqualTo("my-radio-2");
+    }
+
+    @Test
+    void testInvalidatedByInteractions() {
+        WebElement link = driver.findElement(By.linkText("Return to index"));
+        index.with(By.tagName("input")).above(link).findElement();
+        index.with(By.tagName("label")).above(link).findElement();
+        assertThat(index.captures()).isEqualTo(1);
+
+        driver.findElement(By.id("my-check-2")).click();
+        index.with(By.tagName("input")).above(link).findElement();
+        assertThat(index.captures()).isEqualTo(2);
+
+        index.setVerifyLayout(true);
+        ((JavascriptExecutor) driver).executeScript(
+                "document.querySelector('form').insertAdjacentHTML('afterbegin', '<p>Moved down</p>')");
+        index.with(By.tagName("input")).above(link).findElement();
+        assertThat(index.captures()).isEqualTo(3);
+        log.info("{}", index);
+    }
+
+    @Test
+    void testChainedLookups() {
+        WebElement link = driver.findElement(By.linkText("Return to index"));
+
+        counter.reset();
+        long initNanos = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            driver.findElement(RelativeLocator.with(By.tagName("input")).above(link));
+            driver.findElement(RelativeLocator.with(By.tagName("label")).below(By.name("my-text")));
+        }
+        double relativeMillis = (System.nanoTime() - initNanos) / 1_000_000.0;
+        long relativeCommands = counter.total();
+
+        counter.reset();
+        initNanos = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            index.with(By.tagName("input")).above(link).findElement();
+            index.with(By.tagName("label")).below(By.name("my-text")).findElement();
+        }
+        double indexMillis = (System.nanoTime() - initNanos) / 1_000_000.0;
+        long indexCommands = counter.total();
+
+        log.info(String.format(
+                "%d relative lookups: RelativeLocator %.1f ms (%d commands), GeometryIndex %.1f ms (%d commands)",
+                2 * LOOKUPS, relativeMillis, relativeCommands, indexMillis, indexCommands));
+        assertThat(indexCommands).isLessThan(relativeCommands);
+    }
+}
@@ -0,0 +1,195 @@
+package com.wanhella.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Remembers the element each locator resolved to, for one page object. Register it on the page's
+ * driver with an {@code EventFiringDecorator} so that navigations clear it; a stale element clears it
+ * too and the lookup is retried once. With {@link #setTrackDomGeneration(boolean)} every lookup also
+ * compares an in-page counter of structural DOM changes, which costs a script call but catches
+ * elements that were replaced without going stale.
+ */
+public class LocatorCache implements WebDriverListener {
+
+    private static final String DOM_GENERATION_SCRIPT = """
+            if (window.__domGeneration === undefined) {
+              const generation = window.__domGeneration = {page: Math.random().toString(36).slice(2), count: 0};
+              new MutationObserver(() => generation.count++).observe(document, {childList: true, subtree: true});
+            }
+            return window.__domGeneration.page + ':' + window.__domGeneration.count;
+            """;
+
+    private static final String FIND_FIRST_SCRIPT = ScriptLocators.FIND_ALL_FUNCTION
+            + "return arguments[0].map(spec => findAll(spec.using, spec.value)[0] || null);";
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private boolean trackDomGeneration;
+    private Object domGeneration;
+    private long hits;
+    private long misses;
+    private long invalidations;
+
+    public void setTrackDomGeneration(boolean trackDomGeneration) {
+        this.trackDomGeneration = trackDomGeneration;
+    }
+
+    public WebElement find(WebDriver driver, By locator) {
+        if (trackDomGeneration) {
+            checkDomGeneration(driver);
+        }
+        WebElement element = elements.get(locator);
+        if (element != null) {
+            hits++;
+            return element;
+        }
+        misses++;
+        element = driver.findElement(locator);
+        elements.put(locator, element);
+        return element;
+    }
+
+    /**
+     * Resolves several locators at once: cached ones cost nothing, and the others are looked up
+     * together in one script when the page can resolve them, one findElement each otherwise.
+     * The result keeps the iteration order of {@code locatorsToFind}.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<By, WebElement> findAll(WebDriver driver, Collection<By> locatorsToFind) {
+        if (trackDomGeneration) {
+            checkDomGeneration(driver);
+        }
+        List<By> scripted = new ArrayList<>();
+        List<Map<String, Object>> specs = new ArrayList<>();
+        for (By locator : locatorsToFind) {
+            if (elements.containsKey(locator)) {
+                hits++;
+                continue;
+            }
+            misses++;
+            ScriptLocators.parameters(locator).ifPresentOrElse(parameters -> {
+                scripted.add(locator);
+                specs.add(Map.of("using", parameters.using(), "value", parameters.value()));
+            }, () -> elements.put(locator, driver.findElement(locator)));
+        }
+        if (!scripted.isEmpty()) {
+            List<WebElement> found = (List<WebElement>) ((JavascriptExecutor) driver).executeScript(
+                    FIND_FIRST_SCRIPT, specs);
+            for (int i = 0; i < scripted.size(); i++) {
+                if (found.get(i) == null) {
+                    throw new NoSuchElementException("Cannot locate an element using " + scripted.get(i));
+                }
+                elements.put(scripted.get(i), found.get(i));
+            }
+        }
+        Map<By, WebElement> resolved = new LinkedHashMap<>();
+        locatorsToFind.forEach(locator -> resolved.put(locator, elements.get(locator)));
+        return resolved;
+    }
+
+    /**
+     * Applies the action to the cached element, resolving the locator again if the element went stale.
+     */
+    public <T> T withElement(WebDriver driver, By locator, Function<WebElement, T> action) {
+        try {
+            return action.apply(find(driver, locator));
+        } catch (StaleElementReferenceException e) {
+            invalidate();
+            return action.apply(find(driver, locator));
+        }
+    }
+
+    /**
+     * Like {@link #find(WebDriver, By)}, but checks that a cached element is still attached before
+     * handing it out, so callers holding on to the element don't get a stale one. Costs one command.
+     */
+    public WebElement findLive(WebDriver driver, By locator) {
+        return withElement(driver, locator, found -> {
+            found.isEnabled();
+            return found;
+        });
+    }
+
+    private void checkDomGeneration(WebDriver driver) {
+        Object generation;
+        try {
+            generation = ((JavascriptExecutor) driver).executeScript(DOM_GENERATION_SCRIPT);
+        } catch (WebDriverException e) {
+            // No script access (e.g. a page still loading): don't trust anything cached
+            generation = null;
+        }
+        if (generation == null || !generation.equals(domGeneration)) {
+            invalidate();
+        }
+        domGeneration = generation;
+    }
+
+    public void invalidate() {
+        if (!elements.isEmpty()) {
+            elements.clear();
+            invalidations++;
+        }
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        invalidate();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        invalidate();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, URL url) {
+        invalidate();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        invalidate();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        invalidate();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        invalidate();
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public long invalidations() {
+        return invalidations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d hit(s), %d miss(es), %d invalidation(s)", hits, misses, invalidations);
+    }
+}
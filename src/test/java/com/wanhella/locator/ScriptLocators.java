@@ -0,0 +1,115 @@
+package com.wanhella.locator;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-page equivalent of the driver's element lookup, for scripts that need to resolve locators
+ * without a findElements round trip per locator. Only locators that expose their remote parameters
+ * ({@link By.Remotable}) with a strategy listed in {@link #STRATEGIES} can be resolved in the page.
+ */
+public final class ScriptLocators {
+    public static final Set<String> STRATEGIES = Set.of("css selector", "xpath", "id", "name", "class name",
+            "tag name", "link text", "partial link text");
+
+    /**
+     * Declares {@code findAll(using, value, root)}, returning an array of elements in document order.
+     */
+    public static final String FIND_ALL_FUNCTION = """
+            function findAll(using, value, root) {
+              root = root || document;
+              switch (using) {
+                case 'css selector':
+                  return Array.from(root.querySelectorAll(value));
+                case 'id':
+                  return Array.from(root.querySelectorAll('#' + CSS.escape(value)));
+                case 'name':
+                  return Array.from(root.querySelectorAll('[name="' + CSS.escape(value) + '"]'));
+                case 'class name':
+                  return Array.from(root.querySelectorAll('.' + CSS.escape(value)));
+                case 'tag name':
+                  return Array.from(root.getElementsByTagName(value));
+                case 'link text':
+                  return Array.from(root.querySelectorAll('a')).filter(a => a.innerText.trim() === value);
+                case 'partial link text':
+                  return Array.from(root.querySelectorAll('a')).filter(a => a.innerText.includes(value));
+                case 'xpath': {
+                  const doc = root.ownerDocument || root;
+                  const result = doc.evaluate(value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                  const found = [];
+                  for (let i = 0; i < result.snapshotLength; i++) {
+                    found.push(result.snapshotItem(i));
+                  }
+                  return found;
+                }
+              }
+              throw new Error('Unsupported locator strategy: ' + using);
+            }
+            """;
+
+    /**
+     * Declares {@code isVisible(element)}, an approximation of WebElement.isDisplayed().
+     */
+    public static final String IS_VISIBLE_FUNCTION = """
+            function isVisible(element) {
+              if (!element.isConnected || element.getClientRects().length === 0) {
+                return false;
+              }
+              if (element.checkVisibility) {
+                return element.checkVisibility({checkOpacity: true, checkVisibilityCSS: true});
+              }
+              const style = getComputedStyle(element);
+              return style.visibility !== 'hidden' && style.display !== 'none' && style.opacity !== '0';
+            }
+            """;
+
+    /**
+     * Declares {@code property(element, name)}, the element's string, number or boolean property or null,
+     * and {@code attribute(element, name)}, which reads it like WebElement.getAttribute(): the property
+     * when there is one, a false boolean as null and a true one as {@code "true"}, the DOM attribute otherwise.
+     */
+    public static final String ATTRIBUTE_FUNCTION = """
+            function property(element, name) {
+              const value = element[name];
+              return ['string', 'number', 'boolean'].includes(typeof value) ? value : null;
+            }
+            function attribute(element, name) {
+              const value = property(element, name);
+              if (typeof value === 'boolean') {
+                return value ? 'true' : null;
+              }
+              return value !== null ? String(value) : element.getAttribute(name);
+            }
+            """;
+
+    private ScriptLocators() {
+    }
+
+    public static Optional<By.Remotable.Parameters> parameters(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            if (STRATEGIES.contains(parameters.using()) && parameters.value() instanceof String) {
+                return Optional.of(parameters);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The executor to run a lookup script from a driver or an element, or null (e.g. from a shadow root).
+     */
+    public static JavascriptExecutor executor(SearchContext context) {
+        if (context instanceof JavascriptExecutor js) {
+            return js;
+        }
+        if (context instanceof WrapsDriver wrapsDriver && wrapsDriver.getWrappedDriver() instanceof JavascriptExecutor js) {
+            return js;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,266 @@
+package com.wanhella.locator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites the common subset of XPath that has a CSS equivalent: descendant and child steps, element
+ * names or {@code *}, attribute presence/equality, {@code contains}/{@code starts-with} on attributes,
+ * {@code not(...)} of those, {@code and}, and positions on named steps. A text predicate on the last
+ * step is kept aside for a script-side filter. Anything else is left as XPath.
+ * Translations are cached per expression.
+ */
+public final class XPathTranslator {
+
+    public enum TextMatch {
+        /**
+         * {@code text()='v'}: some text node child equals v.
+         */
+        TEXT_EQUALS,
+        /**
+         * {@code contains(text(),'v')}: the first text node child contains v.
+         */
+        TEXT_CONTAINS,
+        /**
+         * {@code .='v'}: the string value equals v.
+         */
+        STRING_EQUALS,
+        /**
+         * {@code contains(.,'v')}: the string value contains v.
+         */
+        STRING_CONTAINS,
+        /**
+         * {@code normalize-space()='v'} or {@code normalize-space(.)='v'}.
+         */
+        NORMALIZED_EQUALS
+    }
+
+    /**
+     * A CSS selector, plus an optional text filter that CSS cannot express. An empty translation means
+     * the expression has to be evaluated as XPath.
+     */
+    public record Translation(String css, TextMatch textMatch, String text) {
+        public boolean needsScript() {
+            return textMatch != null;
+        }
+    }
+
+    private static final Map<String, Optional<Translation>> cache = new ConcurrentHashMap<>();
+
+    private static final String LITERAL = "(?:'([^']*)'|\"([^\"]*)\")";
+    private static final Pattern NAME = Pattern.compile("\\*|[A-Za-z_][\\w-]*");
+    private static final Pattern ATTRIBUTE = Pattern.compile("@([A-Za-z_][\\w-]*)");
+    private static final Pattern ATTRIBUTE_EQUALS = Pattern.compile("@([A-Za-z_][\\w-]*)\\s*=\\s*" + LITERAL);
+    private static final Pattern ATTRIBUTE_FUNCTION = Pattern.compile(
+            "(contains|starts-with)\\(\\s*@([A-Za-z_][\\w-]*)\\s*,\\s*" + LITERAL + "\\s*\\)");
+    private static final Pattern NOT = Pattern.compile("not\\((.*)\\)");
+    private static final Pattern POSITION = Pattern.compile("\\d+");
+    private static final Pattern TEXT_EQUALS = Pattern.compile("(text\\(\\)|\\.|normalize-space\\((?:\\.)?\\))\\s*=\\s*" + LITERAL);
+    private static final Pattern TEXT_CONTAINS = Pattern.compile("contains\\(\\s*(text\\(\\)|\\.)\\s*,\\s*" + LITERAL + "\\s*\\)");
+
+    // Text filter found on the last step of the expression being compiled
+    private TextMatch textMatch;
+    private String text;
+
+    private XPathTranslator() {
+    }
+
+    public static Optional<Translation> translate(String xpath) {
+        return cache.computeIfAbsent(xpath, expression -> Optional.ofNullable(new XPathTranslator().compile(expression.trim())));
+    }
+
+    public static int cachedExpressions() {
+        return cache.size();
+    }
+
+    private Translation compile(String xpath) {
+        StringBuilder css = new StringBuilder();
+        int i;
+        if (xpath.startsWith(".//")) {
+            i = 3;
+        } else if (xpath.startsWith("./")) {
+            css.append(":scope > ");
+            i = 2;
+        } else if (xpath.startsWith("//")) {
+            i = 2;
+        } else {
+            // Absolute child paths and relative steps are rare enough to leave to XPath
+            return null;
+        }
+
+        List<String> steps = new ArrayList<>();
+        List<String> combinators = new ArrayList<>();
+        int start = i;
+        int depth = 0;
+        char quote = 0;
+        for (; i < xpath.length(); i++) {
+            char c = xpath.charAt(i);
+            if (quote != 0) {
+                quote = c == quote ? 0 : quote;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == ')') {
+                depth--;
+            } else if (c == '/' && depth == 0) {
+                steps.add(xpath.substring(start, i));
+                boolean descendant = i + 1 < xpath.length() && xpath.charAt(i + 1) == '/';
+                combinators.add(descendant ? " " : " > ");
+                i += descendant ? 1 : 0;
+                start = i + 1;
+            }
+        }
+        if (quote != 0 || depth != 0) {
+            return null;
+        }
+        steps.add(xpath.substring(start));
+
+        for (int s = 0; s < steps.size(); s++) {
+            String step = compileStep(steps.get(s), s == steps.size() - 1);
+            if (step == null) {
+                return null;
+            }
+            css.append(step);
+            if (s < combinators.size()) {
+                css.append(combinators.get(s));
+            }
+        }
+        return new Translation(css.toString(), textMatch, text);
+    }
+
+    private String compileStep(String step, boolean last) {
+        int bracket = step.indexOf('[');
+        String name = bracket < 0 ? step : step.substring(0, bracket);
+        if (!NAME.matcher(name).matches()) {
+            return null;
+        }
+        StringBuilder css = new StringBuilder(name);
+        String rest = bracket < 0 ? "" : step.substring(bracket);
+        while (!rest.isEmpty()) {
+            int end = closingBracket(rest);
+            if (rest.charAt(0) != '[' || end < 0) {
+                return null;
+            }
+            String predicate = rest.substring(1, end).trim();
+            rest = rest.substring(end + 1);
+
+            if (POSITION.matcher(predicate).matches() || predicate.equals("last()")) {
+                // Positions only map onto *-of-type for named steps, and only before any other filter,
+                // text ones included: they add nothing to the selector but still come first in XPath
+                if (name.equals("*") || css.length() != name.length() || textMatch != null) {
+                    return null;
+                }
+                css.append(predicate.equals("last()") ? ":last-of-type" : ":nth-of-type(" + predicate + ")");
+                continue;
+            }
+            for (String term : splitAnd(predicate)) {
+                String condition = compileCondition(term, last);
+                if (condition == null) {
+                    return null;
+                }
+                css.append(condition);
+            }
+        }
+        return css.toString();
+    }
+
+    private String compileCondition(String term, boolean last) {
+        Matcher matcher;
+        if ((matcher = ATTRIBUTE_EQUALS.matcher(term)).matches()) {
+            return "[" + matcher.group(1) + "=" + quote(literal(matcher, 2)) + "]";
+        }
+        if ((matcher = ATTRIBUTE.matcher(term)).matches()) {
+            return "[" + matcher.group(1) + "]";
+        }
+        if ((matcher = ATTRIBUTE_FUNCTION.matcher(term)).matches()) {
+            // An empty needle matches every element with the attribute in XPath, and none in CSS
+            if (literal(matcher, 3).isEmpty()) {
+                return null;
+            }
+            String operator = matcher.group(1).equals("contains") ? "*=" : "^=";
+            return "[" + matcher.group(2) + operator + quote(literal(matcher, 3)) + "]";
+        }
+        if ((matcher = NOT.matcher(term)).matches()) {
+            String inner = matcher.group(1).trim();
+            // Only attribute tests: a text test inside not() cannot be filtered by the script either
+            if (TEXT_EQUALS.matcher(inner).matches() || TEXT_CONTAINS.matcher(inner).matches()) {
+                return null;
+            }
+            String condition = compileCondition(inner, false);
+            return condition == null ? null : ":not(" + condition + ")";
+        }
+        if (!last || textMatch != null) {
+            return null;
+        }
+        if ((matcher = TEXT_EQUALS.matcher(term)).matches()) {
+            String function = matcher.group(1);
+            textMatch = function.equals("text()") ? TextMatch.TEXT_EQUALS
+                    : function.equals(".") ? TextMatch.STRING_EQUALS : TextMatch.NORMALIZED_EQUALS;
+            text = literal(matcher, 2);
+            return "";
+        }
+        if ((matcher = TEXT_CONTAINS.matcher(term)).matches()) {
+            textMatch = matcher.group(1).equals("text()") ? TextMatch.TEXT_CONTAINS : TextMatch.STRING_CONTAINS;
+            text = literal(matcher, 2);
+            return "";
+        }
+        return null;
+    }
+
+    private static int closingBracket(String predicates) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < predicates.length(); i++) {
+            char c = predicates.charAt(i);
+            if (quote != 0) {
+                quote = c == quote ? 0 : quote;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> splitAnd(String predicate) {
+        List<String> terms = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < predicate.length(); i++) {
+            char c = predicate.charAt(i);
+            if (quote != 0) {
+                quote = c == quote ? 0 : quote;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && predicate.startsWith(" and ", i)) {
+                terms.add(predicate.substring(start, i).trim());
+                start = i + 5;
+                i += 4;
+            }
+        }
+        terms.add(predicate.substring(start).trim());
+        return terms;
+    }
+
+    private static String literal(Matcher matcher, int group) {
+        return matcher.group(group) != null ? matcher.group(group) : matcher.group(group + 1);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,32 @@
+package com.wanhella.pageobject;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.ByChained;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GeneratedElementsTest {
+
+    @Test
+    void testSameLookupsAsPageFactory() {
+        StubSearchContext pageFactoryContext = new StubSearchContext();
+        LoginForm pageFactoryForm = PageFactory.initElements(pageFactoryContext, LoginForm.class);
+        StubSearchContext generatedContext = new StubSearchContext();
+        LoginForm generatedForm = new LoginForm();
+        LoginForm_Elements.init(generatedContext, generatedForm);
+
+        for (int i = 0; i < 3; i++) {
+            for (StubSearchContext context : new StubSearchContext[]{pageFactoryContext, generatedContext}) {
+                LoginForm form = context == pageFactoryContext ? pageFactoryForm : generatedForm;
+                form.with("user", "user");
+                assertThat(form.status()).isEqualTo("Login successful");
+                assertThat(form.alertCount()).isEqualTo(2);
+            }
+        }
+        // Cached fields are looked up once, the others on every call
+        assertThat(generatedContext.lookups).isEqualTo(pageFactoryContext.lookups).hasSize(3 + 3 + 3);
+        assertThat(generatedContext.element.keystrokes).isEqualTo(pageFactoryContext.element.keystrokes);
+        assertThat(LoginForm_Elements.SUBMIT_BUTTON).isInstanceOf(ByChained.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.wanhella.pageobject;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * List counterpart of {@link LazyElement}. Every operation works on one fresh findElements result
+ * (or the cached one), so iterating does not look the elements up again for each index.
+ */
+public final class LazyElementList extends AbstractList<WebElement> implements RandomAccess {
+    private final SearchContext context;
+    private final By locator;
+    private final boolean cached;
+    private List<WebElement> elements;
+
+    public LazyElementList(SearchContext context, By locator, boolean cached) {
+        this.context = context;
+        this.locator = locator;
+        this.cached = cached;
+    }
+
+    private List<WebElement> elements() {
+        if (elements != null) {
+            return elements;
+        }
+        List<WebElement> found = context.findElements(locator);
+        if (cached) {
+            elements = found;
+        }
+        return found;
+    }
+
+    @Override
+    public WebElement get(int index) {
+        return elements().get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements().size();
+    }
+
+    @Override
+    public Iterator<WebElement> iterator() {
+        return elements().iterator();
+    }
+
+    @Override
+    public ListIterator<WebElement> listIterator() {
+        return elements().listIterator();
+    }
+
+    @Override
+    public ListIterator<WebElement> listIterator(int index) {
+        return elements().listIterator(index);
+    }
+
+    @Override
+    public List<WebElement> subList(int fromIndex, int toIndex) {
+        return elements().subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public Spliterator<WebElement> spliterator() {
+        return elements().spliterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return elements().toArray(a);
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy elements located by " + locator;
+    }
+}
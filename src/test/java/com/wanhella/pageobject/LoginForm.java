@@ -0,0 +1,47 @@
+package com.wanhella.pageobject;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.CacheLookup;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.How;
+
+import java.util.List;
+
+/**
+ * Page object using every supported form of {@code @FindBy}, initialized either way by the tests.
+ */
+public class LoginForm {
+    @FindBy(id = "username")
+    @CacheLookup
+    WebElement usernameInput;
+
+    @FindBy(how = How.NAME, using = "password")
+    @CacheLookup
+    WebElement passwordInput;
+
+    @FindBys({@FindBy(tagName = "form"), @FindBy(css = "button")})
+    @CacheLookup
+    WebElement submitButton;
+
+    @FindBy(id = "success")
+    WebElement successBox;
+
+    @FindAll({@FindBy(className = "alert"), @FindBy(xpath = "//div[@role='alert']")})
+    List<WebElement> alerts;
+
+    public String status() {
+        return successBox.getText();
+    }
+
+    public void with(String username, String password) {
+        usernameInput.sendKeys(username);
+        passwordInput.sendKeys(password);
+        submitButton.click();
+    }
+
+    public int alertCount() {
+        return alerts.size();
+    }
+}
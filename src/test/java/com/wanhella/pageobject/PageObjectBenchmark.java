@@ -0,0 +1,81 @@
+package com.wanhella.pageobject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openqa.selenium.support.PageFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PageFactory against the generated {@code _Elements} classes, without a browser: constructing and
+ * initializing a page object, and a login flow plus a status read on an initialized one.
+ * <p>
+ * Not part of the test suite, since it forks a JVM: run {@link #main(String[])} from the test
+ * classpath, e.g. {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.wanhella.pageobject.PageObjectBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PageObjectBenchmark {
+    StubSearchContext context;
+    LoginForm pageFactoryForm;
+    LoginForm generatedForm;
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PageObjectBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.milliseconds(200))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.milliseconds(200))
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setup() {
+        context = new StubSearchContext();
+        context.recording = false;
+        pageFactoryForm = PageFactory.initElements(context, LoginForm.class);
+        generatedForm = new LoginForm();
+        LoginForm_Elements.init(context, generatedForm);
+    }
+
+    @Benchmark
+    public LoginForm constructWithPageFactory() {
+        LoginForm form = new LoginForm();
+        PageFactory.initElements(new org.openqa.selenium.support.pagefactory.DefaultElementLocatorFactory(context), form);
+        return form;
+    }
+
+    @Benchmark
+    public LoginForm constructGenerated() {
+        LoginForm form = new LoginForm();
+        LoginForm_Elements.init(context, form);
+        return form;
+    }
+
+    @Benchmark
+    public String accessWithPageFactory() {
+        pageFactoryForm.with("user", "user");
+        return pageFactoryForm.status();
+    }
+
+    @Benchmark
+    public String accessGenerated() {
+        generatedForm.with("user", "user");
+        return generatedForm.status();
+    }
+}
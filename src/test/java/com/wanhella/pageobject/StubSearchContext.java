@@ -0,0 +1,128 @@
+package com.wanhella.pageobject;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Browser-free search context for measuring page-object initialization: every lookup succeeds
+ * immediately with the same element, and the locators asked for are recorded.
+ */
+class StubSearchContext implements SearchContext {
+    final List<By> lookups = new ArrayList<>();
+    final StubElement element = new StubElement();
+    boolean recording = true;
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        record(by);
+        return List.of(element, element);
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        record(by);
+        return element;
+    }
+
+    private void record(By by) {
+        if (recording) {
+            lookups.add(by);
+        }
+    }
+
+    static class StubElement implements WebElement {
+        int keystrokes;
+        int clicks;
+
+        @Override
+        public void click() {
+            clicks++;
+        }
+
+        @Override
+        public void submit() {
+        }
+
+        @Override
+        public void sendKeys(CharSequence... keysToSend) {
+            keystrokes++;
+        }
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public String getTagName() {
+            return "div";
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            return null;
+        }
+
+        @Override
+        public boolean isSelected() {
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public String getText() {
+            return "Login successful";
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return List.of();
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return this;
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            return true;
+        }
+
+        @Override
+        public Point getLocation() {
+            return new Point(0, 0);
+        }
+
+        @Override
+        public Dimension getSize() {
+            return new Dimension(0, 0);
+        }
+
+        @Override
+        public Rectangle getRect() {
+            return new Rectangle(0, 0, 0, 0);
+        }
+
+        @Override
+        public String getCssValue(String propertyName) {
+            return "";
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -1,22 +1,36 @@
 package com.wanhella.pageobjectmodel;
 
+import com.wanhella.element.ElementSnapshot;
+import com.wanhella.locator.LocatorCache;
+import com.wanhella.session.ResourceBlocker;
+import com.wanhella.session.ThreadConfinedDriverProvider;
+import com.wanhella.wait.MutationWait;
 import org.openqa.selenium.By;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 public class BasePage {
     WebDriver driver;
     WebDriverWait wait;
     int timeoutSec = 5;
+    final LocatorCache locators = new LocatorCache();
+
+    public BasePage() {
+        this(ThreadConfinedDriverProvider.get());
+    }
 
     public BasePage(WebDriver driver) {
-        this.driver = driver;
-        wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSec));
+        ResourceBlocker.applyAnnotated(driver, getClass());
+        this.driver = new EventFiringDecorator<>(locators).decorate(driver);
+        wait = new MutationWait(this.driver, Duration.ofSeconds(timeoutSec));
     }
 
     public void setTimeoutSec(int timeoutSec) {
@@ -28,24 +42,65 @@ public class BasePage {
     }
 
     public WebElement find(By element) {
-        return driver.findElement(element);
+        return locators.findLive(driver, element);
     }
 
     public void click(By element) {
-        find(element).click();
+        locators.withElement(driver, element, found -> {
+            found.click();
+            return null;
+        });
     }
 
     public void type(By element, String text) {
-        find(element).sendKeys(text);
+        locators.withElement(driver, element, found -> {
+            found.sendKeys(text);
+            return null;
+        });
+    }
+
+    /**
+     * Types every value into its field and clicks {@code submit}, if not null, in a single command.
+     * Fields are filled in the iteration order of {@code values}, so pass an ordered map such as a
+     * {@link java.util.LinkedHashMap} when the page reacts to the order.
+     */
+    public void fill(Map<By, String> values, By submit, FillMode mode) {
+        FormFill.fill(driver, locators, values, submit, mode);
+    }
+
+    public ElementSnapshot snapshot(By locator, ElementSnapshot.Fields fields) {
+        return locators.withElement(driver, locator, found -> ElementSnapshot.capture(driver, found, fields));
+    }
+
+    public List<ElementSnapshot> snapshotAll(By locator, ElementSnapshot.Fields fields) {
+        return ElementSnapshot.captureAll(driver, driver.findElements(locator), fields);
     }
 
     public boolean isDisplayed(By locator) {
         try {
-            wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            wait.until(visibilityOfCachedElement(locator));
         } catch (TimeoutException e) {
             System.out.printf("Timeout of %s wait for %s%n", timeoutSec, locator);
             return false;
         }
         return true;
     }
+
+    ExpectedCondition<WebElement> visibilityOfCachedElement(By locator) {
+        return new ExpectedCondition<>() {
+            @Override
+            public WebElement apply(WebDriver driver) {
+                return locators.withElement(driver, locator, found -> found.isDisplayed() ? found : null);
+            }
+
+            @Override
+            public String toString() {
+                return "visibility of element located by " + locator;
+            }
+        };
+    }
+
+    public LocatorCache getLocatorCache() {
+        return locators;
+    }
 }
@@ -1,6 +1,6 @@
 package com.wanhella.pageobjectmodel;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.wanhella.session.PrewarmingDriverProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,7 +15,7 @@ public class BasicLoginJupiterTest {
 
     @BeforeEach
     void setup() {
-        driver = WebDriverManager.chromedriver().create();
+        driver = PrewarmingDriverProvider.chrome().take();
         login = new BasicLoginPage(driver);
     }
 
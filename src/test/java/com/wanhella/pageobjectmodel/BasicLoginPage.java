@@ -1,5 +1,6 @@
 package com.wanhella.pageobjectmodel;
 
+import com.wanhella.fixture.FixtureServer;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
@@ -13,7 +14,7 @@ public class BasicLoginPage {
 
     public BasicLoginPage(WebDriver driver) {
         this.driver = driver;
-        driver.get("https://bonigarcia.dev/selenium-webdriver-java/login-form.html");
+        driver.get(FixtureServer.webRoot() + "login-form.html");
     }
 
     public void with(String username, String password) {
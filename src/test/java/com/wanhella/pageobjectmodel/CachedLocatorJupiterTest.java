@@ -0,0 +1,86 @@
+package com.wanhella.pageobjectmodel;
+
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.locator.LocatorCache;
+import com.wanhella.session.DriverPoolExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@ExtendWith(DriverPoolExtension.class)
+public class CachedLocatorJupiterTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    WebDriver driver;
+    LoginPage login;
+    LocatorCache cache;
+
+    @BeforeEach
+    void setup(WebDriver driver) {
+        this.driver = driver;
+        login = new LoginPage(driver);
+        cache = login.getLocatorCache();
+    }
+
+    @Test
+    void testRepeatedLookupsHitTheCache() {
+        login.with("badUser", "badPassword");
+        login.with("user", "user");
+        assertThat(login.successBoxPresent()).isTrue();
+
+        log.info("Login page locators: {}", cache);
+        assertThat(cache.misses()).isEqualTo(4);
+        assertThat(cache.hits()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void testNavigationInvalidates() {
+        login.with("user", "user");
+        login.visit(FixtureServer.webRoot() + "login-form.html");
+        assertThat(cache.invalidations()).isEqualTo(1);
+
+        login.with("user", "user");
+        assertThat(cache.misses()).isEqualTo(6);
+    }
+
+    @Test
+    void testStaleElementIsResolvedAgain() {
+        login.with("badUser", "badPassword");
+        ((JavascriptExecutor) driver).executeScript(
+                "const input = document.getElementById('username'); input.replaceWith(input.cloneNode(true));");
+
+        login.with("user", "user");
+        assertThat(login.successBoxPresent()).isTrue();
+        assertThat(cache.invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void testFindDoesNotReturnStaleElement() {
+        login.find(login.usernameInput);
+        ((JavascriptExecutor) driver).executeScript(
+                "const input = document.getElementById('username'); input.replaceWith(input.cloneNode(true));");
+
+        login.find(login.usernameInput).sendKeys("user");
+        assertThat(cache.invalidations()).isEqualTo(1);
+        assertThat(login.find(login.usernameInput).getAttribute("value")).isEqualTo("user");
+    }
+
+    @Test
+    void testDomGenerationInvalidates() {
+        cache.setTrackDomGeneration(true);
+        login.find(login.usernameInput);
+        login.find(login.usernameInput);
+        assertThat(cache.hits()).isEqualTo(1);
+
+        ((JavascriptExecutor) driver).executeScript("document.body.appendChild(document.createElement('div'));");
+        login.find(login.usernameInput);
+        assertThat(cache.misses()).isEqualTo(2);
+    }
+}
@@ -1,23 +1,58 @@
 package com.wanhella.pageobjectmodel;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.wanhella.locator.LocatorCache;
+import com.wanhella.session.DriverSource;
+import com.wanhella.session.ResourceBlocker;
+import com.wanhella.wait.MutationWait;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.Map;
 
 public class ExtendedBasePage {
     WebDriver driver;
     WebDriverWait wait;
     int timeoutSec = 5;
+    final LocatorCache locators = new LocatorCache();
+    DriverSource source;
+    WebDriver borrowed;
 
     public ExtendedBasePage(String browser) {
-        driver = WebDriverManager.getInstance(browser).create();
-        wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSec));
+        this(browser, new ImmutableCapabilities());
+    }
+
+    public ExtendedBasePage(String browser, Capabilities capabilities) {
+        this(DriverSource.configured(), browser, capabilities);
+    }
+
+    /**
+     * Borrows the driver from {@code source}; {@link #quit()} gives it back.
+     */
+    public ExtendedBasePage(DriverSource source, String browser, Capabilities capabilities) {
+        long initNanos = System.nanoTime();
+        this.source = source;
+        borrowed = source.borrow(browser, capabilities);
+        init(borrowed);
+        source.stats().recordConstruction(System.nanoTime() - initNanos);
+    }
+
+    public ExtendedBasePage(WebDriver driver) {
+        init(driver);
+    }
+
+    private void init(WebDriver driver) {
+        ResourceBlocker.applyAnnotated(driver, getClass());
+        this.driver = new EventFiringDecorator<>(locators).decorate(driver);
+        wait = new MutationWait(this.driver, Duration.ofSeconds(timeoutSec));
     }
 
     public void setTimeoutSec(int timeoutSec) {
@@ -25,8 +60,9 @@ public class ExtendedBasePage {
     }
 
     public void quit() {
-        if (driver != null) {
-            driver.quit();
+        if (borrowed != null) {
+            source.giveBack(borrowed);
+            borrowed = null;
         }
     }
 
@@ -35,11 +71,14 @@ public class ExtendedBasePage {
     }
 
     public WebElement find(By element) {
-        return driver.findElement(element);
+        return locators.findLive(driver, element);
     }
 
     public void click(By element) {
-        find(element).click();
+        locators.withElement(driver, element, found -> {
+            found.click();
+            return null;
+        });
     }
 
     public void click(WebElement element) {
@@ -47,16 +86,28 @@ public class ExtendedBasePage {
     }
 
     public void type(By element, String text) {
-        find(element).sendKeys(text);
+        locators.withElement(driver, element, found -> {
+            found.sendKeys(text);
+            return null;
+        });
     }
 
     public void type(WebElement element, String text) {
         element.sendKeys(text);
     }
 
+    /**
+     * Types every value into its field and clicks {@code submit}, if not null, in a single command.
+     * Fields are filled in the iteration order of {@code values}, so pass an ordered map such as a
+     * {@link java.util.LinkedHashMap} when the page reacts to the order.
+     */
+    public void fill(Map<By, String> values, By submit, FillMode mode) {
+        FormFill.fill(driver, locators, values, submit, mode);
+    }
+
     public boolean isDisplayed(By locator) {
         try {
-            wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            wait.until(visibilityOfCachedElement(locator));
         } catch (TimeoutException e) {
             System.out.printf("Timeout of %s wait for %s%n", timeoutSec, locator);
             return false;
@@ -73,4 +124,22 @@ public class ExtendedBasePage {
         }
         return true;
     }
+
+    ExpectedCondition<WebElement> visibilityOfCachedElement(By locator) {
+        return new ExpectedCondition<>() {
+            @Override
+            public WebElement apply(WebDriver driver) {
+                return locators.withElement(driver, locator, found -> found.isDisplayed() ? found : null);
+            }
+
+            @Override
+            public String toString() {
+                return "visibility of element located by " + locator;
+            }
+        };
+    }
+
+    public LocatorCache getLocatorCache() {
+        return locators;
+    }
 }
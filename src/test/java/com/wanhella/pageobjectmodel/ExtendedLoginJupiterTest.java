@@ -1,11 +1,17 @@
 package com.wanhella.pageobjectmodel;
 
+import com.wanhella.session.DriverPoolExtension;
+import com.wanhella.session.SessionStateStore;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+@ExtendWith(DriverPoolExtension.class)
 public class ExtendedLoginJupiterTest {
     ExtendedLoginPage login;
 
@@ -30,4 +36,19 @@ public class ExtendedLoginJupiterTest {
         login.with("badUser", "badPassword");
         assertThat(login.successBoxPresent()).isFalse();
     }
+
+    @Test
+    void testLaterPagesStartLoggedIn() {
+        SessionStateStore store = new SessionStateStore(Duration.ofMinutes(1));
+        login.startLoggedIn(store, "user", "user");
+        assertThat(login.successBoxPresent()).isTrue();
+
+        ExtendedLoginPage other = new ExtendedLoginPage("chrome");
+        try {
+            other.startLoggedIn(store, "user", "user");
+            assertThat(store.hits()).isEqualTo(1);
+        } finally {
+            other.quit();
+        }
+    }
 }
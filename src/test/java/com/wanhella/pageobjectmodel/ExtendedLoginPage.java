@@ -1,6 +1,13 @@
 package com.wanhella.pageobjectmodel;
 
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverSource;
+import com.wanhella.session.SessionStateStore;
 import org.openqa.selenium.By;
+import org.openqa.selenium.ImmutableCapabilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class ExtendedLoginPage extends ExtendedBasePage {
 
@@ -12,7 +19,12 @@ public class ExtendedLoginPage extends ExtendedBasePage {
 
     public ExtendedLoginPage(String browser) {
         super(browser);
-        visit("https://bonigarcia.dev/selenium-webdriver-java/login-form.html");
+        visit(FixtureServer.webRoot() + "login-form.html");
+    }
+
+    public ExtendedLoginPage(DriverSource source, String browser) {
+        super(source, browser, new ImmutableCapabilities());
+        visit(FixtureServer.webRoot() + "login-form.html");
     }
 
     public ExtendedLoginPage(String browser, int timeoutSec) {
@@ -26,6 +38,23 @@ public class ExtendedLoginPage extends ExtendedBasePage {
         click(submitButton);
     }
 
+    public void with(String username, String password, FillMode mode) {
+        // Same order as a user would type them in
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(usernameInput, username);
+        values.put(passwordInput, password);
+        fill(values, submitButton, mode);
+    }
+
+    /**
+     * Starts logged in as {@code username}, restoring the state an earlier login left in {@code store} or
+     * logging in through the form and keeping its state for the next page.
+     */
+    public void startLoggedIn(SessionStateStore store, String username, String password) {
+        store.restoreOrLogin(driver, username, FixtureServer.webRoot() + "login-form.html",
+                loggedOut -> with(username, password));
+    }
+
     public boolean successBoxPresent() {
         return isDisplayed(successBox);
     }
@@ -1,9 +1,9 @@
 package com.wanhella.pageobjectmodel;
 
+import com.wanhella.fixture.FixtureServer;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.CacheLookup;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 public class FactoryLoginPage extends ExtendedBasePage {
     @FindBy(id = "username")
@@ -29,8 +29,8 @@ public class FactoryLoginPage extends ExtendedBasePage {
 
     public FactoryLoginPage(String browser) {
         super(browser);
-        PageFactory.initElements(driver, this);
-        visit("https://bonigarcia.dev/selenium-webdriver-java/login-form.html");
+        FactoryLoginPage_Elements.init(driver, this);
+        visit(FixtureServer.webRoot() + "login-form.html");
     }
 
     public void with(String username, String password) {
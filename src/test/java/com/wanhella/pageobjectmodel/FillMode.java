@@ -0,0 +1,18 @@
+package com.wanhella.pageobjectmodel;
+
+/**
+ * How {@code fill} gets values into a form. Either way fields end up holding exactly the given value,
+ * replacing what was there.
+ */
+public enum FillMode {
+    /**
+     * One W3C Actions sequence: click each field, select its content, type, then click submit.
+     * Real key events, as with sendKeys.
+     */
+    ACTIONS,
+    /**
+     * One script setting each value through the native setter and dispatching input and change
+     * events, then clicking submit. No key events are fired.
+     */
+    SCRIPT
+}
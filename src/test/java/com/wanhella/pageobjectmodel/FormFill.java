@@ -0,0 +1,120 @@
+package com.wanhella.pageobjectmodel;
+
+import com.wanhella.locator.LocatorCache;
+import com.wanhella.locator.ScriptLocators;
+import org.apache.commons.lang3.SystemUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared implementation of the page objects' {@code fill}. Fields are filled, and focused, in the
+ * iteration order of the values map.
+ */
+final class FormFill {
+    private static final String FILL_SCRIPT = ScriptLocators.FIND_ALL_FUNCTION + """
+            const [fields, submit] = arguments;
+            const resolve = target => target.element || findAll(target.using, target.value)[0];
+            const elements = fields.map(field => resolve(field.target));
+            const missing = elements.findIndex(element => !element);
+            if (missing >= 0) {
+              return missing;
+            }
+            const submitElement = submit && resolve(submit);
+            if (submit && !submitElement) {
+              return fields.length;
+            }
+            elements.forEach((element, i) => {
+              element.focus();
+              const prototype = Object.getPrototypeOf(element);
+              const setter = Object.getOwnPropertyDescriptor(prototype, 'value');
+              if (setter && setter.set) {
+                setter.set.call(element, fields[i].text);
+              } else {
+                element.value = fields[i].text;
+              }
+              element.dispatchEvent(new Event('input', {bubbles: true}));
+              element.dispatchEvent(new Event('change', {bubbles: true}));
+            });
+            if (submitElement) {
+              submitElement.click();
+            }
+            return -1;
+            """;
+
+    private FormFill() {
+    }
+
+    static void fill(WebDriver driver, LocatorCache locators, Map<By, String> values, By submit, FillMode mode) {
+        try {
+            fillOnce(driver, locators, values, submit, mode);
+        } catch (StaleElementReferenceException e) {
+            locators.invalidate();
+            fillOnce(driver, locators, values, submit, mode);
+        }
+    }
+
+    private static void fillOnce(WebDriver driver, LocatorCache locators, Map<By, String> values, By submit,
+                                 FillMode mode) {
+        switch (mode) {
+            case ACTIONS -> withActions(driver, locators, values, submit);
+            case SCRIPT -> withScript(driver, locators, values, submit);
+        }
+    }
+
+    private static void withActions(WebDriver driver, LocatorCache locators, Map<By, String> values, By submit) {
+        Set<By> targets = new LinkedHashSet<>(values.keySet());
+        if (submit != null) {
+            targets.add(submit);
+        }
+        Map<By, WebElement> elements = locators.findAll(driver, targets);
+
+        Keys modifier = SystemUtils.IS_OS_MAC ? Keys.COMMAND : Keys.CONTROL;
+        Actions actions = new Actions(driver);
+        values.forEach((locator, text) -> actions.click(elements.get(locator))
+                .keyDown(modifier).sendKeys("a").keyUp(modifier)
+                .sendKeys(text.isEmpty() ? Keys.DELETE : text));
+        if (submit != null) {
+            actions.click(elements.get(submit));
+        }
+        actions.perform();
+    }
+
+    private static void withScript(WebDriver driver, LocatorCache locators, Map<By, String> values, By submit) {
+        List<By> order = new ArrayList<>(values.keySet());
+        List<Map<String, Object>> fields = new ArrayList<>();
+        for (By locator : order) {
+            fields.add(Map.of("target", target(driver, locators, locator), "text", values.get(locator)));
+        }
+        Map<String, Object> submitTarget = submit == null ? null : target(driver, locators, submit);
+        int missing = ((Number) ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, fields, submitTarget)).intValue();
+        if (missing >= 0) {
+            throw new NoSuchElementException("Cannot locate an element using " + (missing < order.size() ? order.get(missing) : submit));
+        }
+    }
+
+    /**
+     * Locators the page can resolve itself go in the script; the others are found beforehand.
+     */
+    private static Map<String, Object> target(WebDriver driver, LocatorCache locators, By locator) {
+        return ScriptLocators.parameters(locator)
+                .<Map<String, Object>>map(parameters -> Map.of("using", parameters.using(), "value", parameters.value()))
+                .orElseGet(() -> {
+                    Map<String, Object> target = new HashMap<>();
+                    target.put("element", locators.find(driver, locator));
+                    return target;
+                });
+    }
+}
@@ -0,0 +1,71 @@
+package com.wanhella.pageobjectmodel;
+
+import com.wanhella.CommandCounter;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverPoolExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.slf4j.Logger;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@ExtendWith(DriverPoolExtension.class)
+public class FormFillJupiterTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String LOGIN_FORM_URL = FixtureServer.webRoot() + "login-form.html";
+    private static final int LOGINS = 10;
+
+    CommandCounter counter;
+    LoginPage login;
+
+    @BeforeEach
+    void setup(WebDriver driver) {
+        counter = new CommandCounter();
+        // Not quit here: the pooled driver underneath goes back to the pool after each test
+        login = new LoginPage(new EventFiringDecorator<>(counter).decorate(driver));
+    }
+
+    @Test
+    void testLoginInEachMode() {
+        for (FillMode mode : FillMode.values()) {
+            login.visit(LOGIN_FORM_URL);
+            login.with("badUser", "badPassword", mode);
+            assertThat(login.isDisplayed(By.id("invalid"))).as(mode.name()).isTrue();
+
+            // Values are replaced, not appended to
+            login.with("user", "user", mode);
+            assertThat(login.successBoxPresent()).as(mode.name()).isTrue();
+        }
+    }
+
+    @Test
+    void testLoginLatency() {
+        log.info(String.format("%-10s %10s %10s", "mode", "ms/login", "commands"));
+        measure("sendKeys", () -> login.with("user", "user"));
+        for (FillMode mode : FillMode.values()) {
+            measure(mode.name(), () -> login.with("user", "user", mode));
+        }
+    }
+
+    private void measure(String name, Runnable loginFlow) {
+        long nanos = 0;
+        long commands = 0;
+        for (int i = 0; i < LOGINS; i++) {
+            login.visit(LOGIN_FORM_URL);
+            counter.reset();
+            long initNanos = System.nanoTime();
+            loginFlow.run();
+            nanos += System.nanoTime() - initNanos;
+            commands += counter.total();
+        }
+        assertThat(login.successBoxPresent()).as(name).isTrue();
+        log.info(String.format("%-10s %10.2f %10.1f", name, nanos / 1_000_000.0 / LOGINS, (double) commands / LOGINS));
+    }
+}
@@ -1,11 +1,14 @@
 package com.wanhella.pageobjectmodel;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.wanhella.session.PrewarmingDriverProvider;
+import com.wanhella.session.SessionStateStore;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.WebDriver;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class LoginJupiterTest {
@@ -14,7 +17,7 @@ public class LoginJupiterTest {
 
     @BeforeEach
     void setup() {
-        driver = WebDriverManager.chromedriver().create();
+        driver = PrewarmingDriverProvider.chrome().take();
         login = new LoginPage(driver);
     }
 
@@ -34,4 +37,19 @@ public class LoginJupiterTest {
         login.with("badUser", "badPassword");
         assertThat(login.successBoxPresent()).isFalse();
     }
+
+    @Test
+    void testLaterPagesStartLoggedIn() {
+        SessionStateStore store = new SessionStateStore(Duration.ofMinutes(1));
+        login.startLoggedIn(store, "user", "user");
+        assertThat(login.successBoxPresent()).isTrue();
+
+        WebDriver other = PrewarmingDriverProvider.chrome().take();
+        try {
+            new LoginPage(other).startLoggedIn(store, "user", "user");
+            assertThat(store.hits()).isEqualTo(1);
+        } finally {
+            other.quit();
+        }
+    }
 }
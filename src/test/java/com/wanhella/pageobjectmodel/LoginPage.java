@@ -1,8 +1,14 @@
 package com.wanhella.pageobjectmodel;
 
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.SessionStateStore;
+import com.wanhella.session.ThreadConfinedDriverProvider;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class LoginPage extends BasePage {
     By usernameInput = By.id("username");
     By passwordInput = By.id("password");
@@ -16,7 +22,11 @@ public class LoginPage extends BasePage {
 
     public LoginPage(WebDriver driver) {
         super(driver);
-        visit("https://bonigarcia.dev/selenium-webdriver-java/login-form.html");
+        visit(FixtureServer.webRoot() + "login-form.html");
+    }
+
+    public LoginPage() {
+        this(ThreadConfinedDriverProvider.get());
     }
 
     public void with(String username, String password) {
@@ -25,6 +35,23 @@ public class LoginPage extends BasePage {
         click(submitButton);
     }
 
+    public void with(String username, String password, FillMode mode) {
+        // Same order as a user would type them in
+        Map<By, String> values = new LinkedHashMap<>();
+        values.put(usernameInput, username);
+        values.put(passwordInput, password);
+        fill(values, submitButton, mode);
+    }
+
+    /**
+     * Starts logged in as {@code username}, restoring the state an earlier login left in {@code store} or
+     * logging in through the form and keeping its state for the next page.
+     */
+    public void startLoggedIn(SessionStateStore store, String username, String password) {
+        store.restoreOrLogin(driver, username, FixtureServer.webRoot() + "login-form.html",
+                loggedOut -> with(username, password));
+    }
+
     public boolean successBoxPresent() {
         return isDisplayed(successBox);
     }
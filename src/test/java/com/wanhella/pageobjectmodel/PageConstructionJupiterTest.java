@@ -0,0 +1,55 @@
+package com.wanhella.pageobjectmodel;
+
+import com.wanhella.session.DriverPoolExtension;
+import com.wanhella.session.DriverSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.slf4j.Logger;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+// The pooled source and its stats are shared by the whole run
+@Isolated
+@ExtendWith(DriverPoolExtension.class)
+public class PageConstructionJupiterTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    static final int PAGES = 5;
+
+    @Test
+    void testPooledPagesReuseSessions() {
+        DriverSource source = DriverSource.pooled();
+        long launches = source.stats().launches();
+        double millis = constructPages(source);
+
+        log.info(String.format("Pooled: %.0f ms per page object, %s", millis, source.stats()));
+        // One page at a time, so the first launch is the only one
+        assertThat(source.stats().launches() - launches).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void testPooledVersusLaunchingPages() {
+        long launchingLaunches = DriverSource.launching().stats().launches();
+        double launching = constructPages(DriverSource.launching());
+        long pooledLaunches = DriverSource.pooled().stats().launches();
+        double pooled = constructPages(DriverSource.pooled());
+
+        log.info(String.format("Page object construction: launching %.0f ms, pooled %.0f ms", launching, pooled));
+        assertThat(DriverSource.launching().stats().launches() - launchingLaunches).isEqualTo(PAGES);
+        assertThat(DriverSource.pooled().stats().launches() - pooledLaunches).isLessThanOrEqualTo(1);
+    }
+
+    private static double constructPages(DriverSource source) {
+        long initNanos = System.nanoTime();
+        for (int i = 0; i < PAGES; i++) {
+            ExtendedLoginPage login = new ExtendedLoginPage(source, "chrome");
+            login.with("user", "user");
+            assertThat(login.successBoxPresent()).isTrue();
+            login.quit();
+        }
+        return (System.nanoTime() - initNanos) / 1_000_000.0 / PAGES;
+    }
+}
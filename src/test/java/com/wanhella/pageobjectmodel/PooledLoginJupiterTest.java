@@ -0,0 +1,33 @@
+package com.wanhella.pageobjectmodel;
+
+import com.wanhella.session.DriverPoolExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(DriverPoolExtension.class)
+@Execution(ExecutionMode.CONCURRENT)
+public class PooledLoginJupiterTest {
+    LoginPage login;
+
+    @BeforeEach
+    void setup() {
+        login = new LoginPage();
+    }
+
+    @Test
+    void testLoginSuccess() {
+        login.with("user", "user");
+        assertThat(login.successBoxPresent()).isTrue();
+    }
+
+    @Test
+    void testLoginFailure() {
+        login.with("badUser", "badPassword");
+        assertThat(login.successBoxPresent()).isFalse();
+    }
+}
@@ -0,0 +1,98 @@
+package com.wanhella.screenshot;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.PrintsPage;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.print.PrintOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+/**
+ * Writes base64 payloads (screenshots, CDP captures, printed PDFs) to disk without ever holding the
+ * decoded bytes: the text is fed through a streaming decoder and copied out with a fixed-size buffer,
+ * so the only full-size copy in memory is the string the driver returned.
+ */
+public final class Base64Files {
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private Base64Files() {
+    }
+
+    public static Path screenshot(TakesScreenshot driver, Path destination) throws IOException {
+        return write(driver.getScreenshotAs(OutputType.BASE64), destination);
+    }
+
+    public static Path print(PrintsPage driver, PrintOptions options, Path destination) throws IOException {
+        return write(driver.print(options).getContent(), destination);
+    }
+
+    public static Path write(CharSequence base64, Path destination) throws IOException {
+        try (OutputStream out = Files.newOutputStream(destination)) {
+            write(base64, out);
+        }
+        return destination;
+    }
+
+    public static long write(CharSequence base64, WritableByteChannel channel) throws IOException {
+        return write(base64, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * Decodes {@code base64} into {@code out}, which is left open.
+     *
+     * @return the number of bytes written
+     */
+    public static long write(CharSequence base64, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long written = 0;
+        try (InputStream decoded = Base64.getDecoder().wrap(new AsciiInputStream(base64))) {
+            int read;
+            while ((read = decoded.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                written += read;
+            }
+        }
+        out.flush();
+        return written;
+    }
+
+    /**
+     * Base64 text is plain ASCII, so each char is one byte.
+     */
+    private static final class AsciiInputStream extends InputStream {
+        private final CharSequence text;
+        private int position;
+
+        AsciiInputStream(CharSequence text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read() {
+            return position < text.length() ? text.charAt(position++) & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int count = Math.min(length, text.length() - position);
+            if (count <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < count; i++) {
+                bytes[offset + i] = (byte) text.charAt(position + i);
+            }
+            position += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.wanhella.screenshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+public class Base64FilesTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    // About the size of a full-page capture of a long page
+    static final int PAYLOAD_BYTES = 24 * 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        for (int size : new int[]{0, 1, 2, 3, Base64Files.BUFFER_SIZE, Base64Files.BUFFER_SIZE + 1, 1_000_003}) {
+            byte[] bytes = new byte[size];
+            new Random(size).nextBytes(bytes);
+            Path file = Base64Files.write(Base64.getEncoder().encodeToString(bytes), directory.resolve(size + ".bin"));
+            assertThat(Files.readAllBytes(file)).isEqualTo(bytes);
+        }
+    }
+
+    @Test
+    void testHeapUsage() throws IOException {
+        byte[] bytes = new byte[PAYLOAD_BYTES];
+        new Random(42).nextBytes(bytes);
+        String base64 = Base64.getEncoder().encodeToString(bytes);
+        bytes = null;
+        Path decodedFile = directory.resolve("decoded.png");
+        Path streamedFile = directory.resolve("streamed.png");
+
+        // Warm up both paths before measuring
+        Files.write(decodedFile, Base64.getDecoder().decode(base64));
+        Base64Files.write(base64, streamedFile);
+
+        long initBytes = allocatedBytes();
+        long initNanos = System.nanoTime();
+        Files.write(decodedFile, Base64.getDecoder().decode(base64));
+        long decodeNanos = System.nanoTime() - initNanos;
+        long decodeBytes = allocatedBytes() - initBytes;
+
+        initBytes = allocatedBytes();
+        initNanos = System.nanoTime();
+        Base64Files.write(base64, streamedFile);
+        long streamNanos = System.nanoTime() - initNanos;
+        long streamBytes = allocatedBytes() - initBytes;
+
+        log.info("{} MB payload: decode + write allocated {} KB in {} ms, streaming allocated {} KB in {} ms",
+                PAYLOAD_BYTES / 1024 / 1024, decodeBytes / 1024, decodeNanos / 1_000_000,
+                streamBytes / 1024, streamNanos / 1_000_000);
+        assertThat(Files.mismatch(decodedFile, streamedFile)).isEqualTo(-1);
+        assertThat(streamBytes).isLessThan(PAYLOAD_BYTES / 10);
+        assertThat(decodeBytes).isGreaterThanOrEqualTo(PAYLOAD_BYTES);
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+}
@@ -0,0 +1,123 @@
+package com.wanhella.screenshot;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stores each distinct screenshot once, as {@code objects/<sha-256>.png} under the screenshot directory,
+ * and every capture as a {@code <name>.png.ref} file holding the path of its object.
+ */
+final class ContentAddressedScreenshots {
+    static final String OBJECTS = "objects";
+    static final String REF_SUFFIX = ".ref";
+
+    private final Path directory;
+    private final Path objects;
+    private final Map<String, CompletableFuture<Void>> known = new ConcurrentHashMap<>();
+    private final LongAdder unique = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    ContentAddressedScreenshots(Path directory) {
+        this.directory = directory;
+        this.objects = directory.resolve(OBJECTS);
+    }
+
+    /**
+     * Writes the reference for {@code fileName}, and the object if it is new.
+     *
+     * @return the path of the reference
+     */
+    Path write(byte[] png, String fileName) throws IOException {
+        String hash = HexFormat.of().formatHex(sha256(png));
+        Path object = objects.resolve(hash + ".png");
+        String target = directory.relativize(object).toString().replace('\\', '/');
+        byte[] ref = target.getBytes(StandardCharsets.UTF_8);
+
+        CompletableFuture<Void> stored = new CompletableFuture<>();
+        CompletableFuture<Void> existing = known.putIfAbsent(hash, stored);
+        if (existing == null) {
+            try {
+                // Objects left by earlier runs count as duplicates too
+                if (Files.exists(object)) {
+                    duplicates.increment();
+                    bytesSaved.add(png.length - ref.length);
+                } else {
+                    store(png, hash, object);
+                    unique.increment();
+                }
+                stored.complete(null);
+            } catch (IOException | RuntimeException e) {
+                // Lets the next capture of the same image try again
+                known.remove(hash, stored);
+                stored.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            // Another capture of the same image may still be writing the object
+            awaitStored(existing, object);
+            duplicates.increment();
+            bytesSaved.add(png.length - ref.length);
+        }
+        Path destination = directory.resolve(fileName + REF_SUFFIX);
+        Files.write(destination, ref);
+        return destination;
+    }
+
+    private void store(byte[] png, String hash, Path object) throws IOException {
+        Files.createDirectories(objects);
+        Path temp = Files.createTempFile(objects, hash, ".tmp");
+        try {
+            Files.write(temp, png);
+            Files.move(temp, object, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Written meanwhile by another process
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void awaitStored(CompletableFuture<Void> stored, Path object) throws IOException {
+        try {
+            stored.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + object);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not store " + object, e.getCause());
+        }
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    long unique() {
+        return unique.sum();
+    }
+
+    long duplicates() {
+        return duplicates.sum();
+    }
+
+    long bytesSaved() {
+        return bytesSaved.sum();
+    }
+}
@@ -0,0 +1,158 @@
+package com.wanhella.screenshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Encodes an 8-bit RGB PNG one row at a time, so that an image of any height can be written while only
+ * two rows are held in memory. The height has to be known up front; rows not written by {@link #close()}
+ * are filled with white.
+ */
+public class PngStreamWriter implements Closeable {
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final int IDAT_SIZE = 64 * 1024;
+    private static final byte FILTER_UP = 2;
+
+    private final DataOutputStream out;
+    private final IdatOutputStream idat = new IdatOutputStream();
+    private final DeflaterOutputStream pixels;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final int width;
+    private final int height;
+    private byte[] previous;
+    private byte[] current;
+    private int rows;
+
+    public PngStreamWriter(OutputStream out, int width, int height) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Cannot encode a " + width + "x" + height + " image");
+        }
+        this.out = new DataOutputStream(out);
+        this.width = width;
+        this.height = height;
+        previous = new byte[width * 3];
+        current = new byte[width * 3];
+
+        this.out.write(SIGNATURE);
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream ihdr = new DataOutputStream(header);
+        ihdr.writeInt(width);
+        ihdr.writeInt(height);
+        // 8 bits per sample, truecolor, deflate, adaptive filtering, no interlace
+        ihdr.write(new byte[]{8, 2, 0, 0, 0});
+        writeChunk("IHDR", header.toByteArray(), 13);
+        pixels = new DeflaterOutputStream(idat, deflater, IDAT_SIZE);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getRowsWritten() {
+        return rows;
+    }
+
+    /**
+     * Writes the next row from {@code argb}, as returned by {@code BufferedImage.getRGB}. Pixels past
+     * {@code length} are white; pixels past the image width are ignored.
+     */
+    public void writeRow(int[] argb, int offset, int length) throws IOException {
+        if (rows == height) {
+            throw new IllegalStateException("All " + height + " rows have been written");
+        }
+        for (int x = 0, i = 0; x < width; x++) {
+            int pixel = x < length ? argb[offset + x] : 0xffffffff;
+            current[i++] = (byte) (pixel >> 16);
+            current[i++] = (byte) (pixel >> 8);
+            current[i++] = (byte) pixel;
+        }
+        pixels.write(FILTER_UP);
+        byte[] filtered = previous;
+        for (int i = 0; i < current.length; i++) {
+            filtered[i] = (byte) (current[i] - previous[i]);
+        }
+        pixels.write(filtered);
+        // The filtered bytes overwrote the previous row, which becomes the next scratch row
+        previous = current;
+        current = filtered;
+        rows++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (rows < height) {
+            int[] white = new int[0];
+            while (rows < height) {
+                writeRow(white, 0, 0);
+            }
+        }
+        pixels.finish();
+        idat.flush();
+        deflater.end();
+        writeChunk("IEND", new byte[0], 0);
+        out.flush();
+        out.close();
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Cuts the compressed stream into IDAT chunks.
+     */
+    private class IdatOutputStream extends OutputStream {
+        private final byte[] buffer = new byte[IDAT_SIZE];
+        private int size;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                int count = Math.min(length, buffer.length - size);
+                System.arraycopy(bytes, offset, buffer, size, count);
+                size += count;
+                offset += count;
+                length -= count;
+                if (size == buffer.length) {
+                    flush();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (size > 0) {
+                writeChunk("IDAT", buffer, size);
+                size = 0;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
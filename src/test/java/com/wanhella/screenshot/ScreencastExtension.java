@@ -0,0 +1,89 @@
+package com.wanhella.screenshot;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Records a {@link ScreencastRecorder} over each test and writes it under
+ * {@code -Dscreencast.dir/<class>/<method>} (default {@code target/screencasts}) only if the test fails.
+ * The DevTools session is taken from the test instance's {@code DevTools} field, or from a driver field
+ * that has DevTools, once its {@code @BeforeEach} methods have run. {@code -Dscreencast.seconds} sets how
+ * much is kept (default 10).
+ */
+public class ScreencastExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String DIRECTORY_PROPERTY = "screencast.dir";
+    public static final String SECONDS_PROPERTY = "screencast.seconds";
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ScreencastExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) throws IllegalAccessException {
+        DevTools devTools = findDevTools(context.getRequiredTestInstance());
+        if (devTools == null) {
+            log.warn("{} has no DevTools session to record", context.getRequiredTestClass().getSimpleName());
+            return;
+        }
+        Duration window = Duration.ofSeconds(Long.getLong(SECONDS_PROPERTY, ScreencastRecorder.DEFAULT_WINDOW.toSeconds()));
+        ScreencastRecorder recorder = new ScreencastRecorder(devTools, window, ScreencastRecorder.DEFAULT_CAPACITY);
+        recorder.start();
+        context.getStore(NAMESPACE).put(ScreencastRecorder.class, recorder);
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) throws IOException {
+        ScreencastRecorder recorder = context.getStore(NAMESPACE).remove(ScreencastRecorder.class, ScreencastRecorder.class);
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.stop();
+        } catch (RuntimeException e) {
+            // A failing test may have taken the session down with it; the buffered frames are still there
+            log.warn("{}: could not stop the screencast", context.getDisplayName(), e);
+        }
+        try {
+            if (context.getExecutionException().isPresent()) {
+                Path directory = Paths.get(System.getProperty(DIRECTORY_PROPERTY, "target/screencasts"),
+                        context.getRequiredTestClass().getSimpleName(), context.getRequiredTestMethod().getName());
+                Path video = recorder.persist(directory);
+                log.info("{} failed, screencast: {} ({})", context.getDisplayName(), video, recorder);
+            } else {
+                log.debug("{} passed, screencast dropped ({})", context.getDisplayName(), recorder);
+            }
+        } finally {
+            recorder.close();
+        }
+    }
+
+    private static DevTools findDevTools(Object testInstance) throws IllegalAccessException {
+        DevTools fromDriver = null;
+        for (Class<?> type = testInstance.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                field.setAccessible(true);
+                Object value = field.get(testInstance);
+                if (value instanceof DevTools devTools) {
+                    return devTools;
+                }
+                if (value instanceof HasDevTools driver && fromDriver == null) {
+                    fromDriver = driver.getDevTools();
+                }
+            }
+        }
+        return fromDriver;
+    }
+}
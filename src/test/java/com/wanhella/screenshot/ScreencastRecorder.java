@@ -0,0 +1,230 @@
+package com.wanhella.screenshot;
+
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.v114.page.Page;
+import org.openqa.selenium.devtools.v114.page.model.ScreencastFrame;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps the last seconds of a CDP screencast (low-quality JPEG frames from {@code Page.startScreencast})
+ * in a fixed-size direct buffer, overwriting the oldest frames, and writes them out only when asked,
+ * e.g. by {@link ScreencastExtension} when a test fails. Each frame is acknowledged as soon as it
+ * arrives, before it is stored, so the browser keeps sending them.
+ * <p>
+ * {@link #persist(Path)} writes the frames as one Motion JPEG file, which ffmpeg and VLC play, together
+ * with the time of each frame.
+ * <p>
+ * DevTools listeners cannot be removed one by one, so each session gets a single frame listener that
+ * forwards to whichever recorder is started on it; {@link #stop()} detaches the recorder from it. Ring
+ * buffers given back by {@link #close()} are reused by the next recorder of the same capacity.
+ */
+public class ScreencastRecorder implements AutoCloseable {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(10);
+    public static final int DEFAULT_CAPACITY = 16 * 1024 * 1024;
+    static final int QUALITY = 40;
+    static final int MAX_SIZE = 800;
+
+    private static final Map<DevTools, ScreencastRecorder> started = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Queue<ByteBuffer> spareRings = new ConcurrentLinkedQueue<>();
+
+    private final DevTools devTools;
+    private ByteBuffer ring;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final long windowNanos;
+    private int head;
+    private boolean recording;
+    private long received;
+    private long evicted;
+    private long ackNanos;
+
+    public ScreencastRecorder(DevTools devTools) {
+        this(devTools, DEFAULT_WINDOW, DEFAULT_CAPACITY);
+    }
+
+    public ScreencastRecorder(DevTools devTools, Duration window, int capacity) {
+        this.devTools = devTools;
+        this.ring = takeRing(capacity);
+        this.windowNanos = window.toNanos();
+    }
+
+    public void start() {
+        devTools.createSessionIfThereIsNotOne();
+        synchronized (started) {
+            if (!started.containsKey(devTools)) {
+                devTools.addListener(Page.screencastFrame(), frame -> {
+                    ScreencastRecorder recorder = started.get(devTools);
+                    if (recorder != null) {
+                        recorder.onFrame(frame);
+                    }
+                });
+            }
+            started.put(devTools, this);
+        }
+        devTools.send(Page.startScreencast(Optional.of(Page.StartScreencastFormat.JPEG), Optional.of(QUALITY),
+                Optional.of(MAX_SIZE), Optional.of(MAX_SIZE), Optional.empty()));
+        recording = true;
+    }
+
+    public void stop() {
+        if (recording) {
+            recording = false;
+            // Keeps the entry, and so the session's listener, without forwarding to this recorder
+            started.replace(devTools, this, null);
+            devTools.send(Page.stopScreencast());
+        }
+    }
+
+    private static ByteBuffer takeRing(int capacity) {
+        for (ByteBuffer spare : spareRings) {
+            if (spare.capacity() == capacity && spareRings.remove(spare)) {
+                return spare;
+            }
+        }
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    private void onFrame(ScreencastFrame frame) {
+        long receivedNanos = System.nanoTime();
+        if (recording) {
+            devTools.send(Page.screencastFrameAck(frame.getSessionId()));
+        }
+        synchronized (this) {
+            ackNanos += System.nanoTime() - receivedNanos;
+        }
+        store(Base64.getDecoder().decode(frame.getData()), receivedNanos);
+    }
+
+    synchronized void store(byte[] jpeg, long timestampNanos) {
+        received++;
+        while (!frames.isEmpty() && timestampNanos - frames.peekFirst().timestampNanos() > windowNanos) {
+            evict();
+        }
+        if (ring == null || jpeg.length > ring.capacity()) {
+            return;
+        }
+        if (head + jpeg.length > ring.capacity()) {
+            // Frames never wrap around: the end of the buffer is left unused and writing starts over
+            while (!frames.isEmpty() && frames.peekFirst().offset() >= head) {
+                evict();
+            }
+            head = 0;
+        }
+        while (!frames.isEmpty() && frames.peekFirst().offset() >= head
+                && frames.peekFirst().offset() < head + jpeg.length) {
+            evict();
+        }
+        ring.put(head, jpeg);
+        frames.addLast(new Frame(head, jpeg.length, timestampNanos));
+        head += jpeg.length;
+    }
+
+    private void evict() {
+        frames.removeFirst();
+        evicted++;
+    }
+
+    /**
+     * Writes the buffered frames to {@code screencast.mjpeg} and their times, in milliseconds from the
+     * first frame, to {@code screencast.txt}.
+     *
+     * @return the video file, or null when there were no frames
+     */
+    public synchronized Path persist(Path directory) throws IOException {
+        if (frames.isEmpty()) {
+            return null;
+        }
+        Files.createDirectories(directory);
+        Path video = directory.resolve("screencast.mjpeg");
+        long first = frames.peekFirst().timestampNanos();
+        List<String> times = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(video, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Frame frame : frames) {
+                ByteBuffer bytes = ring.slice(frame.offset(), frame.length());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                times.add(String.valueOf((frame.timestampNanos() - first) / 1_000_000));
+            }
+        }
+        try (Writer writer = Files.newBufferedWriter(directory.resolve("screencast.txt"))) {
+            writer.write(String.join(System.lineSeparator(), times));
+        }
+        log.debug("Persisted {} frame(s) to {}", frames.size(), video);
+        return video;
+    }
+
+    public synchronized int framesBuffered() {
+        return frames.size();
+    }
+
+    public synchronized long bytesBuffered() {
+        return frames.stream().mapToLong(Frame::length).sum();
+    }
+
+    public synchronized long framesReceived() {
+        return received;
+    }
+
+    public synchronized long framesEvicted() {
+        return evicted;
+    }
+
+    public synchronized double averageAckMillis() {
+        return received == 0 ? 0 : ackNanos / 1_000_000.0 / received;
+    }
+
+    /**
+     * Stops recording if needed, even on a session that is gone, and gives the ring buffer back.
+     */
+    @Override
+    public void close() {
+        try {
+            stop();
+        } catch (RuntimeException e) {
+            log.debug("Could not stop the screencast", e);
+        } finally {
+            synchronized (this) {
+                if (ring != null) {
+                    frames.clear();
+                    spareRings.offer(ring);
+                    ring = null;
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d frame(s) received, %d buffered (%d KB), %d evicted, avg ack %.1f ms",
+                received, frames.size(), bytesBuffered() / 1024, evicted, averageAckMillis());
+    }
+
+    private record Frame(int offset, int length, long timestampNanos) {
+    }
+}
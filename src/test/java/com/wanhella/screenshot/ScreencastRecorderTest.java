@@ -0,0 +1,83 @@
+package com.wanhella.screenshot;
+
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverResolutionCache;
+import com.wanhella.session.PrewarmingDriverProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+public class ScreencastRecorderTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void setupClass() {
+        DriverResolutionCache.setup("chrome");
+    }
+
+    @Test
+    void testRingKeepsNewestFrames() throws IOException {
+        ScreencastRecorder recorder = new ScreencastRecorder(null, Duration.ofSeconds(10), 1000);
+        for (int i = 0; i < 20; i++) {
+            byte[] frame = new byte[300];
+            frame[0] = (byte) i;
+            recorder.store(frame, i * 1_000_000L);
+        }
+        // 300-byte frames fit three at a time in 1000 bytes
+        assertThat(recorder.framesBuffered()).isEqualTo(3);
+        assertThat(recorder.framesEvicted()).isEqualTo(17);
+
+        byte[] video = Files.readAllBytes(recorder.persist(directory));
+        assertThat(video).hasSize(900);
+        assertThat(new byte[]{video[0], video[300], video[600]}).containsExactly(17, 18, 19);
+        assertThat(Files.readAllLines(directory.resolve("screencast.txt"))).containsExactly("0", "1", "2");
+    }
+
+    @Test
+    void testWindowDropsOldFrames() {
+        ScreencastRecorder recorder = new ScreencastRecorder(null, Duration.ofSeconds(1), 1_000_000);
+        for (int i = 0; i < 10; i++) {
+            recorder.store(new byte[100], i * 250_000_000L);
+        }
+        assertThat(recorder.framesBuffered()).isEqualTo(5);
+    }
+
+    @Test
+    void testRecordsScreencast() throws Exception {
+        WebDriver driver = PrewarmingDriverProvider.chrome().take();
+        DevTools devTools = ((ChromeDriver) driver).getDevTools();
+        try (ScreencastRecorder recorder = new ScreencastRecorder(devTools)) {
+            recorder.start();
+            for (String page : List.of("", "web-form.html", "long-page.html", "login-form.html")) {
+                driver.get(FixtureServer.webRoot() + page);
+                Thread.sleep(250);
+            }
+            recorder.stop();
+
+            Path video = recorder.persist(directory);
+            log.info("Screencast: {}, {} bytes persisted", recorder, Files.size(video));
+            assertThat(recorder.framesReceived()).isGreaterThan(1);
+            assertThat(Files.size(video)).isEqualTo(recorder.bytesBuffered());
+        } finally {
+            devTools.close();
+            driver.quit();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.wanhella.screenshot;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Writes screenshots on background threads, so that whoever takes one only pays for the capture
+ * command. Screenshots are handed over still base64-encoded and decoded by the writers. The queue is
+ * bounded; when it is full, {@link OverflowPolicy#DROP_OLDEST} discards the oldest waiting screenshot
+ * and {@link OverflowPolicy#BLOCK} makes the caller wait for room.
+ * <p>
+ * The shared sink writes to {@code -Dscreenshot.dir} (default: the working directory), queues up to
+ * {@code -Dscreenshot.queue} screenshots (default 32) with {@code -Dscreenshot.writers} threads (default 2),
+ * and is flushed when the JVM exits.
+ * <p>
+ * With deduplication on ({@code -Dscreenshot.dedup}, default true for the shared sink), identical
+ * screenshots are stored once by content hash, and each capture is a small reference file; see
+ * {@link #bytesSaved()}.
+ */
+public class ScreenshotSink implements AutoCloseable {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String DIRECTORY_PROPERTY = "screenshot.dir";
+    public static final String QUEUE_PROPERTY = "screenshot.queue";
+    public static final String WRITERS_PROPERTY = "screenshot.writers";
+    public static final String POLICY_PROPERTY = "screenshot.overflow";
+    public static final String DEDUP_PROPERTY = "screenshot.dedup";
+
+    public enum OverflowPolicy {
+        DROP_OLDEST, BLOCK
+    }
+
+    private static ScreenshotSink shared;
+
+    private final Path directory;
+    private final BlockingQueue<Screenshot> queue;
+    private final OverflowPolicy policy;
+    private final ContentAddressedScreenshots objects;
+    private volatile boolean deduplicate;
+    private final List<Thread> writers = new ArrayList<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+    public ScreenshotSink(Path directory, int capacity, int writers, OverflowPolicy policy) {
+        this(directory, capacity, policy);
+        startWriters(writers);
+    }
+
+    ScreenshotSink(Path directory, int capacity, OverflowPolicy policy) {
+        this.directory = directory;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        this.objects = new ContentAddressedScreenshots(directory);
+    }
+
+    public static synchronized ScreenshotSink shared() {
+        if (shared == null) {
+            shared = new ScreenshotSink(Paths.get(System.getProperty(DIRECTORY_PROPERTY, "")),
+                    Integer.getInteger(QUEUE_PROPERTY, 32), Integer.getInteger(WRITERS_PROPERTY, 2),
+                    OverflowPolicy.valueOf(System.getProperty(POLICY_PROPERTY, OverflowPolicy.DROP_OLDEST.name())));
+            shared.setDeduplicate(Boolean.parseBoolean(System.getProperty(DEDUP_PROPERTY, "true")));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "screenshot-sink-shutdown"));
+        }
+        return shared;
+    }
+
+    public void setDeduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+
+    void startWriters(int count) {
+        for (int i = 0; i < count; i++) {
+            Thread writer = new Thread(this::drain, "screenshot-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Queues a base64-encoded PNG to be written as {@code fileName} in the sink's directory.
+     */
+    public void submit(String base64Png, String fileName) {
+        Screenshot screenshot = new Screenshot(base64Png, fileName, System.nanoTime());
+        pending.incrementAndGet();
+        submitted.increment();
+        if (policy == OverflowPolicy.BLOCK) {
+            try {
+                queue.put(screenshot);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                done();
+                dropped.increment();
+                return;
+            }
+        } else {
+            while (!queue.offer(screenshot)) {
+                Screenshot oldest = queue.poll();
+                if (oldest != null) {
+                    log.debug("Screenshot queue full, dropping {}", oldest.fileName());
+                    dropped.increment();
+                    done();
+                }
+            }
+        }
+        maxDepth.accumulate(queue.size());
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                write(queue.take());
+            }
+        } catch (InterruptedException e) {
+            // closed
+        }
+    }
+
+    private void write(Screenshot screenshot) {
+        try {
+            if (deduplicate) {
+                objects.write(Base64.getDecoder().decode(screenshot.base64Png()), screenshot.fileName());
+            } else {
+                Base64Files.write(screenshot.base64Png(), directory.resolve(screenshot.fileName()));
+            }
+            written.increment();
+            long latency = System.nanoTime() - screenshot.submittedNanos();
+            latencyNanos.add(latency);
+            maxLatencyNanos.accumulate(latency);
+        } catch (IOException | IllegalArgumentException e) {
+            failed.increment();
+            log.error("Exception writing screenshot {} to {}", screenshot.fileName(), directory, e);
+        } finally {
+            done();
+        }
+    }
+
+    private void done() {
+        if (pending.decrementAndGet() == 0) {
+            synchronized (pending) {
+                pending.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until every queued screenshot has been written or dropped.
+     *
+     * @return false if some were still pending after {@code timeout}
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (pending) {
+            while (pending.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    pending.wait(Math.max(1, remaining / 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (!flush(Duration.ofSeconds(30))) {
+            log.warn("Closing screenshot sink with {} screenshot(s) unwritten", pending.get());
+        }
+        writers.forEach(Thread::interrupt);
+        log.info("Screenshot sink closed: {}", this);
+    }
+
+    public long uniqueScreenshots() {
+        return objects.unique();
+    }
+
+    public long duplicateScreenshots() {
+        return objects.duplicates();
+    }
+
+    /**
+     * Disk space not used because duplicates were written as references instead.
+     */
+    public long bytesSaved() {
+        return objects.bytesSaved();
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public long maxQueueDepth() {
+        return maxDepth.get();
+    }
+
+    public long submitted() {
+        return submitted.sum();
+    }
+
+    public long written() {
+        return written.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * From submission to the file being written, queueing included.
+     */
+    public double averageWriteLatencyMillis() {
+        long count = written.sum();
+        return count == 0 ? 0 : latencyNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double maxWriteLatencyMillis() {
+        return maxLatencyNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d submitted, %d written (avg latency %.1f ms, max %.1f ms), %d dropped, %d failed, "
+                        + "queue depth %d (max %d), %d duplicate(s) saving %d bytes", submitted(), written(),
+                averageWriteLatencyMillis(), maxWriteLatencyMillis(), dropped(), failed(), queueDepth(), maxQueueDepth(),
+                duplicateScreenshots(), bytesSaved());
+    }
+
+    private record Screenshot(String base64Png, String fileName, long submittedNanos) {
+    }
+}
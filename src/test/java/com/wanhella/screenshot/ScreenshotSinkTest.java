@@ -0,0 +1,103 @@
+package com.wanhella.screenshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.stream.Stream;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.slf4j.LoggerFactory.getLogger;
+
+public class ScreenshotSinkTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    static final int SCREENSHOTS = 200;
+    static final String PNG = Base64.getEncoder().encodeToString(new byte[64 * 1024]);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWritesInBackground() throws Exception {
+        try (ScreenshotSink sink = new ScreenshotSink(directory, 16, 2, ScreenshotSink.OverflowPolicy.BLOCK)) {
+            long initNanos = System.nanoTime();
+            for (int i = 0; i < SCREENSHOTS; i++) {
+                sink.submit(PNG, i + ".png");
+            }
+            double submitMillis = (System.nanoTime() - initNanos) / 1_000_000.0 / SCREENSHOTS;
+            assertThat(sink.flush(Duration.ofSeconds(30))).isTrue();
+
+            log.info(String.format("%.3f ms per submit, %s", submitMillis, sink));
+            assertThat(sink.written()).isEqualTo(SCREENSHOTS);
+            assertThat(sink.dropped()).isZero();
+            assertThat(sink.maxQueueDepth()).isLessThanOrEqualTo(16);
+            assertThat(Files.size(directory.resolve("0.png"))).isEqualTo(64 * 1024);
+        }
+    }
+
+    @Test
+    void testDropOldestWhenFull() throws Exception {
+        ScreenshotSink sink = new ScreenshotSink(directory, 4, ScreenshotSink.OverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 10; i++) {
+            sink.submit(PNG, i + ".png");
+        }
+        assertThat(sink.queueDepth()).isEqualTo(4);
+        assertThat(sink.dropped()).isEqualTo(6);
+
+        sink.startWriters(1);
+        assertThat(sink.flush(Duration.ofSeconds(10))).isTrue();
+        sink.close();
+
+        assertThat(sink.written()).isEqualTo(4);
+        assertThat(directory.resolve("0.png")).doesNotExist();
+        assertThat(directory.resolve("9.png")).exists();
+    }
+
+    @Test
+    void testDuplicatesStoredOnce() throws Exception {
+        String other = Base64.getEncoder().encodeToString(new byte[]{1, 2, 3});
+        try (ScreenshotSink sink = new ScreenshotSink(directory, 16, 2, ScreenshotSink.OverflowPolicy.BLOCK)) {
+            sink.setDeduplicate(true);
+            for (int i = 0; i < 10; i++) {
+                sink.submit(PNG, i + ".png");
+            }
+            sink.submit(other, "other.png");
+            assertThat(sink.flush(Duration.ofSeconds(10))).isTrue();
+
+            log.info("Deduplicated: {}", sink);
+            assertThat(sink.uniqueScreenshots()).isEqualTo(2);
+            assertThat(sink.duplicateScreenshots()).isEqualTo(9);
+            assertThat(sink.bytesSaved()).isGreaterThan(9 * 60 * 1024L);
+
+            String object = Files.readString(directory.resolve("3.png.ref"));
+            assertThat(object).startsWith("objects/").endsWith(".png");
+            assertThat(Files.size(directory.resolve(object))).isEqualTo(64 * 1024);
+        }
+        try (Stream<Path> objects = Files.list(directory.resolve("objects"))) {
+            assertThat(objects).hasSize(2);
+        }
+    }
+
+    @Test
+    void testFailedObjectWriteIsRetried() throws Exception {
+        ContentAddressedScreenshots store = new ContentAddressedScreenshots(directory);
+        byte[] png = new byte[]{1, 2, 3};
+        // A file where the objects directory should be makes the first write fail
+        Path objects = Files.createFile(directory.resolve(ContentAddressedScreenshots.OBJECTS));
+        assertThatThrownBy(() -> store.write(png, "first.png")).isInstanceOf(IOException.class);
+
+        Files.delete(objects);
+        Path ref = store.write(png, "second.png");
+        assertThat(directory.resolve(Files.readString(ref))).exists();
+        assertThat(store.unique()).isEqualTo(1);
+        assertThat(store.duplicates()).isZero();
+    }
+}
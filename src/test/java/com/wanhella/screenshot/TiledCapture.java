@@ -0,0 +1,226 @@
+package com.wanhella.screenshot;
+
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.v114.page.Page;
+import org.openqa.selenium.devtools.v114.page.model.Viewport;
+import org.slf4j.Logger;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Full-page screenshots taken as a column of viewport-high tiles with {@code Page.captureScreenshot} clips,
+ * instead of one capture of the whole content size, which runs into the browser's texture limits on long
+ * pages. Tiles are either written as they are (see {@link #toTiles(Path)}) or stitched into one PNG by a
+ * {@link PngStreamWriter} (see {@link #toPng(Path)}), so the full bitmap is never in memory.
+ * <p>
+ * The browser renders captures of one page one at a time, so tiles are not requested concurrently;
+ * instead, decoding and writing run on other threads while the next tile is being captured, with at
+ * most {@link #MAX_TILES_IN_FLIGHT} tiles waiting.
+ */
+public class TiledCapture {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    static final int MAX_TILES_IN_FLIGHT = 2;
+
+    private final DevTools devTools;
+    private int tileHeight;
+    private int tiles;
+    private long captureNanos;
+
+    public TiledCapture(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * In CSS pixels; defaults to the height of the viewport.
+     */
+    public void setTileHeight(int tileHeight) {
+        this.tileHeight = tileHeight;
+    }
+
+    /**
+     * Writes the tiles as {@code tile-000.png}, {@code tile-001.png}, ... top to bottom.
+     */
+    public List<Path> toTiles(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> written = new ArrayList<>();
+        ExecutorService writers = Executors.newFixedThreadPool(MAX_TILES_IN_FLIGHT);
+        try {
+            List<Future<Path>> pending = new ArrayList<>();
+            capture((index, tile) -> {
+                Path file = directory.resolve(String.format("tile-%03d.png", index));
+                pending.add(writers.submit(() -> {
+                    try {
+                        return Base64Files.write(tile.base64(), file);
+                    } finally {
+                        tile.release();
+                    }
+                }));
+            });
+            for (Future<Path> tile : pending) {
+                written.add(await(tile));
+            }
+        } finally {
+            shutdown(writers);
+        }
+        return written;
+    }
+
+    /**
+     * Stitches the tiles into a single PNG.
+     */
+    public Path toPng(Path destination) throws IOException {
+        ExecutorService encoder = Executors.newSingleThreadExecutor();
+        Stitcher stitcher = new Stitcher(destination);
+        try {
+            List<Future<?>> pending = new ArrayList<>();
+            capture((index, tile) -> pending.add(encoder.submit(() -> {
+                stitcher.append(tile);
+                return null;
+            })));
+            for (Future<?> tile : pending) {
+                await(tile);
+            }
+        } finally {
+            shutdown(encoder);
+            stitcher.close();
+        }
+        return destination;
+    }
+
+    private void capture(TileConsumer consumer) throws IOException {
+        long initNanos = System.nanoTime();
+        Page.GetLayoutMetricsResponse metrics = devTools.send(Page.getLayoutMetrics());
+        double width = metrics.getCssContentSize().getWidth().doubleValue();
+        double height = metrics.getCssContentSize().getHeight().doubleValue();
+        int step = tileHeight > 0 ? tileHeight : metrics.getCssLayoutViewport().getClientHeight();
+        // Bounds the base64 held for tiles not yet written
+        Semaphore inFlight = new Semaphore(MAX_TILES_IN_FLIGHT);
+
+        int index = 0;
+        for (double y = 0; y < height; y += step, index++) {
+            double clipHeight = Math.min(step, height - y);
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while capturing tile " + index, e);
+            }
+            String base64 = devTools.send(Page.captureScreenshot(Optional.empty(), Optional.empty(),
+                    Optional.of(new Viewport(0, y, width, clipHeight, 1)),
+                    Optional.empty(), Optional.of(true), Optional.of(true)));
+            consumer.accept(index, new Tile(base64, width, height, inFlight));
+        }
+        tiles = index;
+        captureNanos = System.nanoTime() - initNanos;
+        log.debug("Captured {}x{} page in {} tile(s) of {} px", width, height, index, step);
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing tiles", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException("Failed to write tile", e.getCause());
+        }
+    }
+
+    private static void shutdown(ExecutorService executor) throws IOException {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing tiles", e);
+        }
+    }
+
+    public int tiles() {
+        return tiles;
+    }
+
+    public double captureMillis() {
+        return captureNanos / 1_000_000.0;
+    }
+
+    /**
+     * A captured tile; the capture loop may take another one once it is released.
+     */
+    private record Tile(String base64, double pageWidth, double pageHeight, Semaphore inFlight) {
+        void release() {
+            inFlight.release();
+        }
+    }
+
+    @FunctionalInterface
+    private interface TileConsumer {
+        void accept(int index, Tile tile);
+    }
+
+    /**
+     * Appends decoded tiles to the PNG, sizing it from the first tile, whose scale gives the device pixel ratio.
+     */
+    private static class Stitcher {
+        private final Path destination;
+        private PngStreamWriter png;
+        private int[] row;
+
+        Stitcher(Path destination) {
+            this.destination = destination;
+        }
+
+        void append(Tile tile) throws IOException {
+            BufferedImage image;
+            try {
+                image = ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(tile.base64())));
+            } finally {
+                tile.release();
+            }
+            if (png == null) {
+                OutputStream out = Files.newOutputStream(destination);
+                double scale = (double) image.getWidth() / Math.ceil(tile.pageWidth());
+                png = new PngStreamWriter(out, image.getWidth(), (int) Math.ceil(tile.pageHeight() * scale));
+                row = new int[image.getWidth()];
+            }
+            int rows = Math.min(image.getHeight(), png.getHeight() - png.getRowsWritten());
+            for (int y = 0; y < rows; y++) {
+                image.getRGB(0, y, Math.min(image.getWidth(), row.length), 1, row, 0, row.length);
+                png.writeRow(row, 0, Math.min(image.getWidth(), row.length));
+            }
+        }
+
+        void close() throws IOException {
+            if (png != null) {
+                png.close();
+            }
+        }
+    }
+}
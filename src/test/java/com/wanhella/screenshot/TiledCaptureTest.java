@@ -0,0 +1,107 @@
+package com.wanhella.screenshot;
+
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverResolutionCache;
+import com.wanhella.session.PrewarmingDriverProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+public class TiledCaptureTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    WebDriver driver;
+    DevTools devTools;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void setupClass() {
+        DriverResolutionCache.setup("chrome");
+    }
+
+    @BeforeEach
+    void setup() {
+        driver = PrewarmingDriverProvider.chrome().take();
+        devTools = ((ChromeDriver) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        driver.get(FixtureServer.webRoot() + "long-page.html");
+        new WebDriverWait(driver, Duration.ofSeconds(10)).until(
+                ExpectedConditions.presenceOfNestedElementsLocatedBy(By.className("container"), By.tagName("p")));
+    }
+
+    @AfterEach
+    void teardown() {
+        devTools.close();
+        driver.quit();
+    }
+
+    @Test
+    void testStitchedFullPage() throws IOException {
+        TiledCapture capture = new TiledCapture(devTools);
+        Path png = capture.toPng(directory.resolve("fullpage.png"));
+
+        BufferedImage image = ImageIO.read(png.toFile());
+        Number pageHeight = (Number) ((ChromeDriver) driver).executeScript("return document.documentElement.scrollHeight;");
+        log.info(String.format("%d tile(s) captured in %.0f ms, stitched into %dx%d",
+                capture.tiles(), capture.captureMillis(), image.getWidth(), image.getHeight()));
+        assertThat(capture.tiles()).isGreaterThan(1);
+        assertThat(image.getHeight()).isGreaterThanOrEqualTo(pageHeight.intValue());
+    }
+
+    @Test
+    void testTileSet() throws IOException {
+        TiledCapture capture = new TiledCapture(devTools);
+        capture.setTileHeight(500);
+        List<Path> tiles = capture.toTiles(directory.resolve("tiles"));
+
+        assertThat(tiles).hasSize(capture.tiles());
+        assertThat(ImageIO.read(tiles.get(0).toFile()).getHeight()).isGreaterThanOrEqualTo(500);
+    }
+
+    @Test
+    void testPngStreamWriter() throws IOException {
+        int width = 123;
+        int height = 77;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PngStreamWriter png = new PngStreamWriter(out, width, height)) {
+            int[] row = new int[width];
+            // The last rows are left out and should come back white
+            for (int y = 0; y < height - 3; y++) {
+                for (int x = 0; x < width; x++) {
+                    row[x] = x << 16 | y << 8 | (x + y) & 0xff;
+                }
+                png.writeRow(row, 0, width);
+            }
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(image.getWidth()).isEqualTo(width);
+        assertThat(image.getHeight()).isEqualTo(height);
+        assertThat(image.getRGB(10, 20) & 0xffffff).isEqualTo(10 << 16 | 20 << 8 | 30);
+        assertThat(image.getRGB(5, height - 1) & 0xffffff).isEqualTo(0xffffff);
+    }
+}
@@ -0,0 +1,18 @@
+package com.wanhella.session;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Blocks the given resources for a test class, a test method or every instance of a page object,
+ * on top of the suite-wide {@code driver.block.profiles}.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface BlockResources {
+    BlockingProfile[] value();
+}
@@ -0,0 +1,41 @@
+package com.wanhella.session;
+
+import org.openqa.selenium.devtools.v114.network.model.ResourceType;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Named sets of requests a {@link ResourceBlocker} fails before they leave the browser.
+ */
+public enum BlockingProfile {
+    NO_IMAGES("no-images", EnumSet.of(ResourceType.IMAGE)),
+    NO_FONTS("no-fonts", EnumSet.of(ResourceType.FONT)),
+    NO_THIRD_PARTY("no-third-party", EnumSet.noneOf(ResourceType.class)),
+    DOM_ONLY("dom-only", EnumSet.of(ResourceType.IMAGE, ResourceType.MEDIA, ResourceType.FONT,
+            ResourceType.STYLESHEET, ResourceType.SCRIPT, ResourceType.TEXTTRACK, ResourceType.MANIFEST));
+
+    private final String id;
+    private final Set<ResourceType> blockedTypes;
+
+    BlockingProfile(String id, Set<ResourceType> blockedTypes) {
+        this.id = id;
+        this.blockedTypes = blockedTypes;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Set<ResourceType> getBlockedTypes() {
+        return blockedTypes;
+    }
+
+    public static BlockingProfile fromId(String id) {
+        return Arrays.stream(values())
+                .filter(profile -> profile.id.equalsIgnoreCase(id.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown blocking profile " + id));
+    }
+}
@@ -0,0 +1,99 @@
+package com.wanhella.session;
+
+import com.sun.management.OperatingSystemMXBean;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Sizes the JUnit worker pool by how many browsers fit in memory, never above the number of cores.
+ * Classes run one at a time unless they opt in with {@code @Execution(ExecutionMode.CONCURRENT)},
+ * which suits functional tests on thread-confined pooled drivers but not timing measurements.
+ * Configured through {@code junit.jupiter.execution.parallel.config.custom.memoryPerBrowserMb} and
+ * {@code junit.jupiter.execution.parallel.config.custom.maxWorkers}.
+ */
+public class BrowserParallelismStrategy implements ParallelExecutionConfigurationStrategy {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final int DEFAULT_MEMORY_PER_BROWSER_MB = 512;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int memoryPerBrowserMb = configurationParameters.get("custom.memoryPerBrowserMb", Integer::parseInt)
+                .orElse(DEFAULT_MEMORY_PER_BROWSER_MB);
+        int maxWorkers = configurationParameters.get("custom.maxWorkers", Integer::parseInt)
+                .orElse(Integer.MAX_VALUE);
+
+        int workers = Math.min(maxWorkers, maxBrowsers(memoryPerBrowserMb));
+        log.info("Running tests on {} worker(s) ({} MB per browser)", workers, memoryPerBrowserMb);
+        return new Configuration(workers);
+    }
+
+    public static int maxBrowsers(int memoryPerBrowserMb) {
+        long availableMb = availableMemoryBytes() / (1024 * 1024);
+        int cores = Runtime.getRuntime().availableProcessors();
+        return (int) Math.max(1, Math.min(cores, availableMb / memoryPerBrowserMb));
+    }
+
+    /**
+     * MemAvailable on Linux, which unlike free memory counts the page cache the kernel can reclaim;
+     * free memory elsewhere.
+     */
+    static long availableMemoryBytes() {
+        Path meminfo = Paths.get("/proc/meminfo");
+        if (Files.isReadable(meminfo)) {
+            try (Stream<String> lines = Files.lines(meminfo)) {
+                Optional<Long> availableKb = lines.filter(line -> line.startsWith("MemAvailable:"))
+                        .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                        .findFirst();
+                if (availableKb.isPresent()) {
+                    return availableKb.get() * 1024;
+                }
+            } catch (IOException | NumberFormatException e) {
+                log.debug("Unable to read {}", meminfo, e);
+            }
+        }
+        OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        return os.getFreeMemorySize();
+    }
+
+    private record Configuration(int parallelism) implements ParallelExecutionConfiguration {
+        @Override
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return parallelism;
+        }
+
+        // No compensation threads: a blocked worker must not start another browser
+        @Override
+        public int getMaxPoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return 30;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.wanhella.session;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v114.page.Page;
+import org.openqa.selenium.interactions.Interactive;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+public class DriverPool implements AutoCloseable {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String POOL_SIZE_PROPERTY = "driver.pool.size";
+    public static final String POOL_PER_CORE_PROPERTY = "driver.pool.perCore";
+    public static final String BLANK_PAGE = "about:blank";
+
+    private static final Map<PoolKey, DriverPool> pools = new ConcurrentHashMap<>();
+
+    private final String browser;
+    private final Capabilities capabilities;
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final Duration acquireTimeout = Duration.ofMinutes(5);
+    private final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, WindowState> sessions = new ConcurrentHashMap<>();
+    private final Map<WebDriver, Set<String>> visitedOrigins = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final PoolStats stats = new PoolStats();
+
+    public DriverPool(String browser, Supplier<WebDriver> factory, int maxSize) {
+        this(browser, new ImmutableCapabilities(), factory, maxSize);
+    }
+
+    public DriverPool(String browser, Capabilities capabilities, Supplier<WebDriver> factory, int maxSize) {
+        this.browser = browser;
+        this.capabilities = new ImmutableCapabilities(capabilities);
+        this.factory = factory;
+        this.maxSize = maxSize;
+    }
+
+    public static DriverPool chrome() {
+        return forBrowser("chrome");
+    }
+
+    public static DriverPool forBrowser(String browser) {
+        return forBrowser(browser, new ImmutableCapabilities());
+    }
+
+    /**
+     * The shared pool of sessions started with exactly these capabilities.
+     */
+    public static DriverPool forBrowser(String browser, Capabilities capabilities) {
+        return pools.computeIfAbsent(new PoolKey(browser.toLowerCase(), new ImmutableCapabilities(capabilities)),
+                key -> new DriverPool(key.browser(), key.capabilities(),
+                        defaultFactory(key.browser(), key.capabilities()), defaultSize()));
+    }
+
+    static Supplier<WebDriver> defaultFactory(String browser, Capabilities capabilities) {
+        if (browser.equals("chrome")) {
+            return () -> SharedChromeDriverService.get().newDriver(new ChromeOptions().merge(capabilities));
+        }
+        return () -> DriverResolutionCache.create(browser, capabilities);
+    }
+
+    public static void closeAll() {
+        new ArrayList<>(pools.values()).forEach(DriverPool::close);
+    }
+
+    static int defaultSize() {
+        String size = System.getProperty(POOL_SIZE_PROPERTY);
+        if (size != null) {
+            return Math.max(1, Integer.parseInt(size));
+        }
+        double perCore = Double.parseDouble(System.getProperty(POOL_PER_CORE_PROPERTY, "1"));
+        return Math.max(1, (int) Math.round(Runtime.getRuntime().availableProcessors() * perCore));
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public Capabilities getCapabilities() {
+        return capabilities;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public PoolStats getStats() {
+        return stats;
+    }
+
+    public WebDriver acquire() {
+        WebDriver driver = pollLive();
+        if (driver != null) {
+            stats.recordLease(true);
+            return driver;
+        }
+        if (size.incrementAndGet() <= maxSize) {
+            try {
+                driver = start();
+            } catch (RuntimeException e) {
+                size.decrementAndGet();
+                throw e;
+            }
+            stats.recordLease(false);
+            return driver;
+        }
+        size.decrementAndGet();
+
+        try {
+            driver = idle.poll(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a " + browser + " session", e);
+        }
+        if (driver == null) {
+            throw new IllegalStateException(String.format("No %s session released within %s (pool size %d)",
+                    browser, acquireTimeout, maxSize));
+        }
+        if (!isAlive(driver)) {
+            // Its slot is free again, so this starts a replacement if nothing else is idle
+            discard(driver);
+            return acquire();
+        }
+        stats.recordLease(true);
+        return driver;
+    }
+
+    private WebDriver pollLive() {
+        WebDriver driver;
+        while ((driver = idle.poll()) != null && !isAlive(driver)) {
+            discard(driver);
+        }
+        return driver;
+    }
+
+    // Browsers can crash or be killed while idle; one cheap command tells
+    private boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            log.warn("Replacing dead {} session", browser, e);
+            return false;
+        }
+    }
+
+    public void release(WebDriver driver) {
+        if (!sessions.containsKey(driver)) {
+            return;
+        }
+        try {
+            reset(driver);
+            idle.offer(driver);
+        } catch (WebDriverException e) {
+            log.warn("Discarding {} session that could not be reset", browser, e);
+            discard(driver);
+        }
+    }
+
+    public void discard(WebDriver driver) {
+        if (quit(driver)) {
+            stats.recordDiscard();
+        }
+    }
+
+    private boolean quit(WebDriver driver) {
+        if (sessions.remove(driver) == null) {
+            return false;
+        }
+        visitedOrigins.remove(driver);
+        size.decrementAndGet();
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            log.debug("Exception quitting {} session", browser, e);
+        }
+        return true;
+    }
+
+    private WebDriver start() {
+        long initNanos = System.nanoTime();
+        WebDriver driver = factory.get();
+        stats.recordStartup(System.nanoTime() - initNanos);
+
+        WebDriver.Window window = driver.manage().window();
+        sessions.put(driver, new WindowState(window.getPosition(), window.getSize()));
+        trackOrigins(driver);
+        return driver;
+    }
+
+    // Storage outlives navigation, so every origin a test went through is cleared on reset, not just
+    // the ones the windows show at the end
+    private void trackOrigins(WebDriver driver) {
+        if (!(driver instanceof HasCdp) || !(driver instanceof HasDevTools devToolsDriver)) {
+            return;
+        }
+        Set<String> origins = ConcurrentHashMap.newKeySet();
+        DevTools devTools = devToolsDriver.getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(Page.enable());
+        devTools.addListener(Page.frameNavigated(), navigated -> origins.add(navigated.getFrame().getSecurityOrigin()));
+        visitedOrigins.put(driver, origins);
+    }
+
+    private void clearVisitedOrigins(HasCdp cdp, Set<String> origins) {
+        for (String origin : List.copyOf(origins)) {
+            if (!origin.startsWith("http")) {
+                continue;
+            }
+            try {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+                cdp.executeCdpCommand("DOMStorage.clear", Map.of("storageId",
+                        Map.of("securityOrigin", origin, "isLocalStorage", false)));
+            } catch (WebDriverException e) {
+                log.debug("Could not clear storage of {}", origin, e);
+            }
+        }
+        origins.clear();
+    }
+
+    void reset(WebDriver driver) {
+        long initNanos = System.nanoTime();
+
+        try {
+            driver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException e) {
+            // nothing pending
+        }
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        for (int i = handles.size() - 1; i >= 0; i--) {
+            driver.switchTo().window(handles.get(i));
+            js.executeScript("try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            if (i > 0) {
+                driver.close();
+            }
+        }
+
+        if (driver instanceof HasCdp cdp) {
+            Set<String> origins = visitedOrigins.get(driver);
+            if (origins != null) {
+                clearVisitedOrigins(cdp, origins);
+            }
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+        new ArrayList<>(js.getPinnedScripts()).forEach(js::unpin);
+        if (driver instanceof Interactive interactive) {
+            interactive.resetInputState();
+        }
+
+        driver.manage().timeouts()
+                .implicitlyWait(Duration.ZERO)
+                .pageLoadTimeout(Duration.ofSeconds(300))
+                .scriptTimeout(Duration.ofSeconds(30));
+        WindowState initial = sessions.get(driver);
+        WebDriver.Window window = driver.manage().window();
+        window.setPosition(initial.position());
+        window.setSize(initial.size());
+        driver.get(BLANK_PAGE);
+
+        stats.recordReset(System.nanoTime() - initNanos);
+    }
+
+    @Override
+    public void close() {
+        pools.remove(new PoolKey(browser, capabilities), this);
+        WebDriver driver;
+        while ((driver = idle.poll()) != null) {
+            quit(driver);
+        }
+        new ArrayList<>(sessions.keySet()).forEach(this::quit);
+        log.info("{} pool closed: {}", browser, stats);
+    }
+
+    private record WindowState(Point position, Dimension size) {
+    }
+
+    private record PoolKey(String browser, Capabilities capabilities) {
+    }
+}
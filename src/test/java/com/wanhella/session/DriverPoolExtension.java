@@ -0,0 +1,74 @@
+package com.wanhella.session;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Injects the worker thread's warm driver from {@link ThreadConfinedDriverProvider} into {@code @BeforeEach}
+ * or {@code @Test} parameters and hands it back to the pool (reset, not quit) after each test.
+ * {@link BlockResources} on the test class or method is applied to the injected driver.
+ * <p>
+ * This extension owns the pools: they are closed once the whole run is over, so test classes that
+ * borrow from {@link DriverSource#pooled()} without an injected driver register it too.
+ */
+public class DriverPoolExtension implements BeforeAllCallback, ParameterResolver, AfterEachCallback {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DriverPoolExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        registerPools(context);
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == WebDriver.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        registerPools(extensionContext);
+        WebDriver driver = ThreadConfinedDriverProvider.get();
+        extensionContext.getTestClass().ifPresent(testClass -> ResourceBlocker.applyAnnotated(driver, testClass));
+        extensionContext.getTestMethod().ifPresent(testMethod -> ResourceBlocker.applyAnnotated(driver, testMethod));
+        return driver;
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        for (WebDriver driver : ThreadConfinedDriverProvider.leased()) {
+            ResourceBlocker.attachedTo(driver).ifPresent(blocker -> {
+                log.info("{}: {}", context.getDisplayName(), blocker.takeStats());
+                blocker.restoreSuiteProfiles();
+            });
+        }
+        ThreadConfinedDriverProvider.release();
+    }
+
+    // Pools are closed once the whole run is over, which is also when their stats get logged
+    private static void registerPools(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(PoolsResource.class, key -> new PoolsResource(), PoolsResource.class);
+    }
+
+    private static class PoolsResource implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            for (DriverSourceStats stats : DriverSourceStats.all()) {
+                if (stats.borrows() > 0) {
+                    log.info("{}", stats);
+                }
+            }
+            DriverPool.closeAll();
+        }
+    }
+}
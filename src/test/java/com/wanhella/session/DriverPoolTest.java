@@ -0,0 +1,117 @@
+package com.wanhella.session;
+
+import com.wanhella.fixture.FixtureServer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Isolated
+public class DriverPoolTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+    private static final String WEB_ROOT_URL = FixtureServer.webRoot();
+    private static final int ITERATIONS = 5;
+
+    @BeforeAll
+    static void setupClass() {
+        DriverResolutionCache.setup("chrome");
+    }
+
+    @Test
+    void testResetRestoresCleanSession() {
+        try (DriverPool pool = new DriverPool("chrome", ChromeDriver::new, 1)) {
+            WebDriver driver = pool.acquire();
+            driver.get(WEB_ROOT_URL + "cookies.html");
+            driver.manage().addCookie(new Cookie("pooled", "true"));
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+            driver.switchTo().newWindow(WindowType.TAB);
+            pool.release(driver);
+
+            WebDriver reused = pool.acquire();
+            assertThat(reused).isSameAs(driver);
+            assertThat(reused.getWindowHandles()).hasSize(1);
+            assertThat(reused.getCurrentUrl()).isEqualTo(DriverPool.BLANK_PAGE);
+            assertThat(reused.manage().timeouts().getImplicitWaitTimeout()).isZero();
+            reused.get(WEB_ROOT_URL + "cookies.html");
+            assertThat(reused.manage().getCookieNamed("pooled")).isNull();
+            pool.release(reused);
+
+            assertThat(pool.getStats().reuses()).isEqualTo(1);
+            assertThat(pool.getStats().browsersStarted()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testResetClearsStorageOfEveryVisitedOrigin() {
+        try (DriverPool pool = new DriverPool("chrome", ChromeDriver::new, 1)) {
+            WebDriver driver = pool.acquire();
+            driver.get(WEB_ROOT_URL);
+            ((JavascriptExecutor) driver).executeScript("window.localStorage.setItem('pooled', 'true')");
+            // The window no longer shows the origin when the session is reset
+            driver.get(DriverPool.BLANK_PAGE);
+            pool.release(driver);
+
+            WebDriver reused = pool.acquire();
+            reused.get(WEB_ROOT_URL);
+            assertThat(((JavascriptExecutor) reused).executeScript("return window.localStorage.getItem('pooled')"))
+                    .isNull();
+            pool.release(reused);
+        }
+    }
+
+    @Test
+    void testDeadIdleSessionIsReplaced() {
+        try (DriverPool pool = new DriverPool("chrome", ChromeDriver::new, 1)) {
+            WebDriver driver = pool.acquire();
+            pool.release(driver);
+            // Ends the session behind the pool's back, as a crashed browser would
+            driver.quit();
+
+            WebDriver replacement = pool.acquire();
+            assertThat(replacement).isNotSameAs(driver);
+            replacement.get(WEB_ROOT_URL);
+            pool.release(replacement);
+
+            assertThat(pool.getStats().browsersStarted()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testPooledVersusFreshSessions() {
+        long initMillis = System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            WebDriver driver = new ChromeDriver();
+            driver.get(WEB_ROOT_URL);
+            driver.quit();
+        }
+        Duration fresh = Duration.ofMillis(System.currentTimeMillis() - initMillis);
+
+        initMillis = System.currentTimeMillis();
+        PoolStats stats;
+        try (DriverPool pool = new DriverPool("chrome", ChromeDriver::new, 1)) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                WebDriver driver = pool.acquire();
+                driver.get(WEB_ROOT_URL);
+                pool.release(driver);
+            }
+            stats = pool.getStats();
+        }
+        Duration pooled = Duration.ofMillis(System.currentTimeMillis() - initMillis);
+
+        log.info("{} tests with a fresh browser each took {} ms, with a pooled browser {} ms ({})",
+                ITERATIONS, fresh.toMillis(), pooled.toMillis(), stats);
+        assertThat(stats.browsersStarted()).isEqualTo(1);
+        assertThat(stats.reuses()).isEqualTo(ITERATIONS - 1);
+    }
+}
@@ -0,0 +1,198 @@
+package com.wanhella.session;
+
+import com.wanhella.fixture.HttpReplay;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Remembers which driver binary WebDriverManager resolved for each browser, keyed by browser and
+ * driver version, in a local manifest. As long as the installed browser binary has the same size and
+ * modification time, later runs just export the cached driver path: no network, no version probing.
+ * The browser path is followed through symlinks and the binary checked is the real one, since the
+ * launcher on the path (e.g. {@code /usr/bin/google-chrome}) usually stays the same across upgrades.
+ */
+public final class DriverResolutionCache {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String MANIFEST_PROPERTY = "driver.resolution.manifest";
+
+    private static final LongAdder coldResolutions = new LongAdder();
+    private static final LongAdder coldNanos = new LongAdder();
+    private static final LongAdder warmResolutions = new LongAdder();
+    private static final LongAdder warmNanos = new LongAdder();
+    private static Properties manifest;
+
+    private DriverResolutionCache() {
+    }
+
+    public static synchronized String setup(String browser) {
+        String name = browser.toLowerCase();
+        long initNanos = System.nanoTime();
+
+        Optional<String> cached = cachedDriverPath(name);
+        if (cached.isPresent()) {
+            System.setProperty(exportProperty(name), cached.get());
+            warmResolutions.increment();
+            warmNanos.add(System.nanoTime() - initNanos);
+            return cached.get();
+        }
+
+        WebDriverManager wdm = WebDriverManager.getInstance(name);
+        wdm.setup();
+        String driverPath = wdm.getDownloadedDriverPath();
+        String driverVersion = wdm.getDownloadedDriverVersion();
+        wdm.getBrowserPath().ifPresent(browserPath -> store(name, browserPath, driverVersion, driverPath));
+        coldResolutions.increment();
+        coldNanos.add(System.nanoTime() - initNanos);
+        return driverPath;
+    }
+
+    public static WebDriver create(String browser) {
+        return create(browser, new ImmutableCapabilities());
+    }
+
+    public static WebDriver create(String browser, Capabilities capabilities) {
+        HttpReplay.checkSuiteProperties();
+        String name = browser.toLowerCase();
+        setup(name);
+        WebDriver driver = switch (name) {
+            case "chrome" -> new ChromeDriver(new ChromeOptions().merge(capabilities));
+            case "edge" -> new EdgeDriver(new EdgeOptions().merge(capabilities));
+            case "firefox" -> new FirefoxDriver(new FirefoxOptions().merge(capabilities));
+            default -> WebDriverManager.getInstance(name).capabilities(capabilities).create();
+        };
+        return HttpReplay.withSuiteArchive(ResourceBlocker.withSuiteProfiles(driver));
+    }
+
+    public static synchronized void invalidate(String browser) {
+        String name = browser.toLowerCase();
+        Properties entries = manifest();
+        String version = entries.getProperty(name + ".driverVersion");
+        entries.remove(name + ".browserPath");
+        entries.remove(name + ".browserFingerprint");
+        entries.remove(name + ".driverVersion");
+        if (version != null) {
+            entries.remove(name + "@" + version + ".driverPath");
+        }
+        save(entries);
+    }
+
+    private static Optional<String> cachedDriverPath(String browser) {
+        Properties entries = manifest();
+        String browserPath = entries.getProperty(browser + ".browserPath");
+        String fingerprint = entries.getProperty(browser + ".browserFingerprint");
+        String version = entries.getProperty(browser + ".driverVersion");
+        if (browserPath == null || fingerprint == null || version == null) {
+            return Optional.empty();
+        }
+        if (!fingerprint.equals(fingerprint(Paths.get(browserPath)))) {
+            log.info("{} binary {} changed since the last run, resolving its driver again", browser, browserPath);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entries.getProperty(browser + "@" + version + ".driverPath"))
+                .filter(driverPath -> Files.isExecutable(Paths.get(driverPath)));
+    }
+
+    private static void store(String browser, Path browserPath, String driverVersion, String driverPath) {
+        Properties entries = manifest();
+        entries.setProperty(browser + ".browserPath", browserPath.toString());
+        entries.setProperty(browser + ".browserFingerprint", fingerprint(browserPath));
+        entries.setProperty(browser + ".driverVersion", driverVersion);
+        entries.setProperty(browser + "@" + driverVersion + ".driverPath", driverPath);
+        save(entries);
+    }
+
+    private static String fingerprint(Path browserPath) {
+        try {
+            Path binary = browserPath.toRealPath();
+            return binary + ":" + Files.size(binary) + ":" + Files.getLastModifiedTime(binary).toMillis();
+        } catch (IOException e) {
+            return "missing";
+        }
+    }
+
+    private static String exportProperty(String browser) {
+        return switch (browser) {
+            case "chrome" -> "webdriver.chrome.driver";
+            case "edge" -> "webdriver.edge.driver";
+            case "firefox" -> "webdriver.gecko.driver";
+            case "opera" -> "webdriver.opera.driver";
+            default -> throw new IllegalArgumentException("No driver binary to resolve for " + browser);
+        };
+    }
+
+    private static Path manifestPath() {
+        String path = System.getProperty(MANIFEST_PROPERTY);
+        if (path != null) {
+            return Paths.get(path);
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "selenium", "driver-resolution.properties");
+    }
+
+    /**
+     * Forgets the loaded manifest, so that the next lookup reads {@link #MANIFEST_PROPERTY} again.
+     */
+    static synchronized void reset() {
+        manifest = null;
+    }
+
+    private static Properties manifest() {
+        if (manifest == null) {
+            manifest = new Properties();
+            Path path = manifestPath();
+            if (Files.exists(path)) {
+                try (InputStream in = Files.newInputStream(path)) {
+                    manifest.load(in);
+                } catch (IOException e) {
+                    log.warn("Ignoring unreadable driver resolution manifest {}", path, e);
+                }
+            }
+        }
+        return manifest;
+    }
+
+    private static void save(Properties entries) {
+        Path path = manifestPath();
+        try {
+            Files.createDirectories(path.getParent());
+            try (OutputStream out = Files.newOutputStream(path)) {
+                entries.store(out, "Driver binaries resolved by WebDriverManager");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write driver resolution manifest " + path, e);
+        }
+    }
+
+    public static String report() {
+        return String.format("%d cold resolution(s) (avg %.0f ms), %d warm resolution(s) (avg %.2f ms)",
+                coldResolutions.sum(), average(coldNanos.sum(), coldResolutions.sum()),
+                warmResolutions.sum(), average(warmNanos.sum(), warmResolutions.sum()));
+    }
+
+    private static double average(long nanos, long count) {
+        return count == 0 ? 0 : nanos / 1_000_000.0 / count;
+    }
+}
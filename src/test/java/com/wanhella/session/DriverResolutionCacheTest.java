@@ -0,0 +1,65 @@
+package com.wanhella.session;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.slf4j.Logger;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Isolated
+public class DriverResolutionCacheTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    @TempDir
+    Path cacheDir;
+
+    String userManifest;
+
+    // Never touch the developer's own manifest
+    @BeforeEach
+    void setup() {
+        userManifest = System.getProperty(DriverResolutionCache.MANIFEST_PROPERTY);
+        System.setProperty(DriverResolutionCache.MANIFEST_PROPERTY, cacheDir.resolve("driver-resolution.properties").toString());
+        DriverResolutionCache.reset();
+    }
+
+    @AfterEach
+    void teardown() {
+        if (userManifest == null) {
+            System.clearProperty(DriverResolutionCache.MANIFEST_PROPERTY);
+        } else {
+            System.setProperty(DriverResolutionCache.MANIFEST_PROPERTY, userManifest);
+        }
+        DriverResolutionCache.reset();
+    }
+
+    @Test
+    void testColdVersusWarmResolution() {
+        DriverResolutionCache.invalidate("chrome");
+
+        long initNanos = System.nanoTime();
+        String coldPath = DriverResolutionCache.setup("chrome");
+        Duration cold = Duration.ofNanos(System.nanoTime() - initNanos);
+
+        initNanos = System.nanoTime();
+        String warmPath = DriverResolutionCache.setup("chrome");
+        Duration warm = Duration.ofNanos(System.nanoTime() - initNanos);
+
+        log.info("chromedriver resolved in {} ms cold, {} us warm ({})",
+                cold.toMillis(), warm.toNanos() / 1000, DriverResolutionCache.report());
+        assertThat(cacheDir.resolve("driver-resolution.properties")).exists();
+        assertThat(warmPath).isEqualTo(coldPath);
+        assertThat(Paths.get(warmPath)).isExecutable();
+        assertThat(System.getProperty("webdriver.chrome.driver")).isEqualTo(warmPath);
+        assertThat(warm).isLessThan(cold);
+    }
+}
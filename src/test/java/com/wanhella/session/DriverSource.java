@@ -0,0 +1,47 @@
+package com.wanhella.session;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Where page objects get their driver from, keyed by browser name and capabilities, and where they
+ * give it back. Which source {@link #configured()} returns is chosen with {@code -Dpage.driver.source}:
+ * <ul>
+ *     <li>{@code pool} (default): a {@link DriverPool} per browser and capabilities, reset on return
+ *     and closed at the end of the run by {@link DriverPoolExtension}, which test classes must use</li>
+ *     <li>{@code thread}: the calling thread's lease from {@link ThreadConfinedDriverProvider}, shared by
+ *     every page object on that thread and kept until the lease is released</li>
+ *     <li>{@code launch}: a new browser per page object, quit on return</li>
+ * </ul>
+ */
+public interface DriverSource {
+    String SOURCE_PROPERTY = "page.driver.source";
+
+    WebDriver borrow(String browser, Capabilities capabilities);
+
+    void giveBack(WebDriver driver);
+
+    DriverSourceStats stats();
+
+    static DriverSource configured() {
+        return switch (System.getProperty(SOURCE_PROPERTY, "pool").toLowerCase()) {
+            case "pool" -> PooledDriverSource.INSTANCE;
+            case "thread" -> ThreadConfinedDriverSource.INSTANCE;
+            case "launch" -> LaunchingDriverSource.INSTANCE;
+            default -> throw new IllegalArgumentException("Unknown " + SOURCE_PROPERTY + ": "
+                    + System.getProperty(SOURCE_PROPERTY));
+        };
+    }
+
+    static DriverSource pooled() {
+        return PooledDriverSource.INSTANCE;
+    }
+
+    static DriverSource threadConfined() {
+        return ThreadConfinedDriverSource.INSTANCE;
+    }
+
+    static DriverSource launching() {
+        return LaunchingDriverSource.INSTANCE;
+    }
+}
@@ -0,0 +1,131 @@
+package com.wanhella.session;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * What page objects paid for their drivers. When {@code -Ddriver.source.stats=<file>} is set, the stats
+ * of every source are written there as properties when the JVM exits.
+ */
+public class DriverSourceStats {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String EXPORT_PROPERTY = "driver.source.stats";
+
+    private static final List<DriverSourceStats> all = new CopyOnWriteArrayList<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverSourceStats::exportIfConfigured, "driver-source-stats"));
+    }
+
+    private final String source;
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder launches = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final LongAdder returns = new LongAdder();
+    private final LongAdder constructions = new LongAdder();
+    private final LongAdder constructionNanos = new LongAdder();
+
+    DriverSourceStats(String source) {
+        this.source = source;
+        all.add(this);
+    }
+
+    public static List<DriverSourceStats> all() {
+        return List.copyOf(all);
+    }
+
+    void recordBorrow(long nanos, boolean launched) {
+        borrows.increment();
+        borrowNanos.add(nanos);
+        if (launched) {
+            launches.increment();
+        }
+    }
+
+    void recordReturn() {
+        returns.increment();
+    }
+
+    public void recordConstruction(long nanos) {
+        constructions.increment();
+        constructionNanos.add(nanos);
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public long borrows() {
+        return borrows.sum();
+    }
+
+    public long launches() {
+        return launches.sum();
+    }
+
+    public long returns() {
+        return returns.sum();
+    }
+
+    public long constructions() {
+        return constructions.sum();
+    }
+
+    public double averageBorrowMillis() {
+        return average(borrowNanos.sum(), borrows.sum());
+    }
+
+    public double averageConstructionMillis() {
+        return average(constructionNanos.sum(), constructions.sum());
+    }
+
+    private static double average(long nanos, long count) {
+        return count == 0 ? 0 : nanos / 1_000_000.0 / count;
+    }
+
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        String prefix = "driver.source." + source + ".";
+        properties.setProperty(prefix + "borrows", String.valueOf(borrows()));
+        properties.setProperty(prefix + "launches", String.valueOf(launches()));
+        properties.setProperty(prefix + "returns", String.valueOf(returns()));
+        properties.setProperty(prefix + "avgBorrowMillis", String.format("%.1f", averageBorrowMillis()));
+        properties.setProperty(prefix + "pageConstructions", String.valueOf(constructions()));
+        properties.setProperty(prefix + "avgPageConstructionMillis", String.format("%.1f", averageConstructionMillis()));
+        return properties;
+    }
+
+    static void exportIfConfigured() {
+        String file = System.getProperty(EXPORT_PROPERTY);
+        if (file == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        all.forEach(stats -> properties.putAll(stats.toProperties()));
+        try (Writer writer = Files.newBufferedWriter(Path.of(file))) {
+            properties.store(writer, "Driver source stats");
+        } catch (IOException e) {
+            log.warn("Could not write driver source stats to {}", file, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d borrows (avg %.0f ms), %d browsers launched, %d returns, "
+                        + "%d page objects constructed (avg %.0f ms)",
+                source, borrows(), averageBorrowMillis(), launches(), returns(),
+                constructions(), averageConstructionMillis());
+    }
+}
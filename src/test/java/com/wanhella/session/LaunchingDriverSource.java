@@ -0,0 +1,32 @@
+package com.wanhella.session;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+
+final class LaunchingDriverSource implements DriverSource {
+    static final LaunchingDriverSource INSTANCE = new LaunchingDriverSource();
+
+    private final DriverSourceStats stats = new DriverSourceStats("launch");
+
+    private LaunchingDriverSource() {
+    }
+
+    @Override
+    public WebDriver borrow(String browser, Capabilities capabilities) {
+        long initNanos = System.nanoTime();
+        WebDriver driver = DriverResolutionCache.create(browser, capabilities);
+        stats.recordBorrow(System.nanoTime() - initNanos, true);
+        return driver;
+    }
+
+    @Override
+    public void giveBack(WebDriver driver) {
+        driver.quit();
+        stats.recordReturn();
+    }
+
+    @Override
+    public DriverSourceStats stats() {
+        return stats;
+    }
+}
@@ -0,0 +1,84 @@
+package com.wanhella.session;
+
+import com.wanhella.fixture.FixtureServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Isolated
+public class ParallelSpeedupTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String WEB_FORM_URL = FixtureServer.webRoot() + "web-form.html";
+    private static final int TASKS = 16;
+
+    @BeforeAll
+    static void setupClass() {
+        DriverResolutionCache.setup("chrome");
+    }
+
+    @AfterAll
+    static void teardownClass() {
+        DriverPool.closeAll();
+    }
+
+    @Test
+    void testSpeedupByWorkerCount() throws Exception {
+        int maxWorkers = Math.min(DriverPool.chrome().getMaxSize(),
+                BrowserParallelismStrategy.maxBrowsers(BrowserParallelismStrategy.DEFAULT_MEMORY_PER_BROWSER_MB));
+        // Starts every browser up front so that no round pays for launches
+        runSuite(maxWorkers);
+
+        long sequentialMillis = runSuite(1);
+        log.info(String.format("%-8s %10s %8s", "workers", "suite ms", "speedup"));
+        log.info(String.format("%-8d %10d %8.2f", 1, sequentialMillis, 1.0));
+        for (int workers = 2; workers <= maxWorkers; workers *= 2) {
+            long millis = runSuite(workers);
+            log.info(String.format("%-8d %10d %8.2f", workers, millis, (double) sequentialMillis / millis));
+        }
+
+        assertThat(DriverPool.chrome().getStats().browsersStarted()).isLessThanOrEqualTo(maxWorkers);
+    }
+
+    private long runSuite(int workers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        long initMillis = System.currentTimeMillis();
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < TASKS; i++) {
+                results.add(executor.submit(this::formTest));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return System.currentTimeMillis() - initMillis;
+    }
+
+    private void formTest() {
+        try {
+            WebDriver driver = ThreadConfinedDriverProvider.get();
+            driver.get(WEB_FORM_URL);
+            driver.findElement(By.name("my-text")).sendKeys("Hello World!");
+            assertThat(driver.findElement(By.name("my-text")).getAttribute("value")).isEqualTo("Hello World!");
+        } finally {
+            ThreadConfinedDriverProvider.release();
+        }
+    }
+}
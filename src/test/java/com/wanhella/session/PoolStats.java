@@ -0,0 +1,75 @@
+package com.wanhella.session;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class PoolStats {
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder reuses = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder startupNanos = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder resetNanos = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    void recordStartup(long nanos) {
+        started.increment();
+        startupNanos.add(nanos);
+    }
+
+    void recordLease(boolean reused) {
+        leases.increment();
+        if (reused) {
+            reuses.increment();
+        }
+    }
+
+    void recordReset(long nanos) {
+        resets.increment();
+        resetNanos.add(nanos);
+    }
+
+    void recordDiscard() {
+        discarded.increment();
+    }
+
+    public long leases() {
+        return leases.sum();
+    }
+
+    public long reuses() {
+        return reuses.sum();
+    }
+
+    public long browsersStarted() {
+        return started.sum();
+    }
+
+    public long discarded() {
+        return discarded.sum();
+    }
+
+    public double averageStartupMillis() {
+        return average(startupNanos.sum(), started.sum());
+    }
+
+    public double averageResetMillis() {
+        return average(resetNanos.sum(), resets.sum());
+    }
+
+    // Every reuse replaced a browser launch with a reset
+    public double estimatedSavingMillis() {
+        return reuses() * Math.max(0, averageStartupMillis() - averageResetMillis());
+    }
+
+    private static double average(long nanos, long count) {
+        return count == 0 ? 0 : nanos / 1_000_000.0 / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d leases, %d browsers started (avg %.0f ms), %d reuses, "
+                        + "avg reset %.0f ms, %d discarded, estimated saving %.0f ms",
+                leases(), browsersStarted(), averageStartupMillis(), reuses(),
+                averageResetMillis(), discarded(), estimatedSavingMillis());
+    }
+}
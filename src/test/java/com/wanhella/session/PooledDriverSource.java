@@ -0,0 +1,43 @@
+package com.wanhella.session;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class PooledDriverSource implements DriverSource {
+    static final PooledDriverSource INSTANCE = new PooledDriverSource();
+
+    private final Map<WebDriver, DriverPool> borrowed = new ConcurrentHashMap<>();
+    private final DriverSourceStats stats = new DriverSourceStats("pool");
+
+    private PooledDriverSource() {
+    }
+
+    @Override
+    public WebDriver borrow(String browser, Capabilities capabilities) {
+        long initNanos = System.nanoTime();
+        DriverPool pool = DriverPool.forBrowser(browser, capabilities);
+        long started = pool.getStats().browsersStarted();
+        WebDriver driver = pool.acquire();
+        borrowed.put(driver, pool);
+        stats.recordBorrow(System.nanoTime() - initNanos, pool.getStats().browsersStarted() > started);
+        return driver;
+    }
+
+    @Override
+    public void giveBack(WebDriver driver) {
+        DriverPool pool = borrowed.remove(driver);
+        if (pool != null) {
+            ResourceBlocker.attachedTo(driver).ifPresent(ResourceBlocker::restoreSuiteProfiles);
+            pool.release(driver);
+            stats.recordReturn();
+        }
+    }
+
+    @Override
+    public DriverSourceStats stats() {
+        return stats;
+    }
+}
@@ -0,0 +1,180 @@
+package com.wanhella.session;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Launches the next browser sessions in the background so that {@link #take()} is usually a handoff.
+ * Sessions are not reused: the caller owns (and quits) every driver it takes.
+ */
+public class PrewarmingDriverProvider implements AutoCloseable {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String LOOK_AHEAD_PROPERTY = "driver.prewarm.lookAhead";
+    public static final String MAX_IDLE_PROPERTY = "driver.prewarm.maxIdle";
+
+    private static PrewarmingDriverProvider chrome;
+
+    private final Supplier<WebDriver> factory;
+    private final int lookAhead;
+    private final int maxIdle;
+    private final ExecutorService launcher;
+    private final Deque<Future<WebDriver>> warming = new ArrayDeque<>();
+    private final LongAdder takes = new LongAdder();
+    private final LongAdder coldStarts = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private boolean closed;
+
+    public PrewarmingDriverProvider(Supplier<WebDriver> factory, int lookAhead, int maxIdle) {
+        this.factory = factory;
+        this.lookAhead = Math.max(1, lookAhead);
+        this.maxIdle = Math.max(1, maxIdle);
+        launcher = Executors.newFixedThreadPool(this.lookAhead, runnable -> {
+            Thread thread = new Thread(runnable, "driver-prewarm");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized PrewarmingDriverProvider chrome() {
+        if (chrome == null) {
+            chrome = new PrewarmingDriverProvider(() -> SharedChromeDriverService.get().newDriver(new ChromeOptions()),
+                    Integer.getInteger(LOOK_AHEAD_PROPERTY, 1), Integer.getInteger(MAX_IDLE_PROPERTY, 2));
+            Runtime.getRuntime().addShutdownHook(new Thread(chrome::close, "driver-prewarm-shutdown"));
+        }
+        return chrome;
+    }
+
+    public WebDriver take() {
+        Future<WebDriver> next;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Provider already closed");
+            }
+            if (warming.isEmpty()) {
+                launch();
+            }
+            next = warming.poll();
+            refill();
+        }
+
+        takes.increment();
+        if (!next.isDone()) {
+            coldStarts.increment();
+        }
+        long initNanos = System.nanoTime();
+        try {
+            return next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            next.cancel(true);
+            throw new WebDriverException("Interrupted waiting for a browser session", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new WebDriverException("Background browser launch failed", e.getCause());
+        } finally {
+            waitNanos.add(System.nanoTime() - initNanos);
+        }
+    }
+
+    /**
+     * Waits until the session that {@link #take()} hands out next has finished launching, or failed to.
+     *
+     * @return false if it is still launching after {@code timeout}, or nothing is being launched
+     */
+    public boolean awaitNext(Duration timeout) {
+        Future<WebDriver> next;
+        synchronized (this) {
+            next = warming.peek();
+        }
+        if (next == null) {
+            return false;
+        }
+        try {
+            next.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted waiting for a browser session", e);
+        } catch (ExecutionException e) {
+            // take() reports the failure
+        } catch (TimeoutException e) {
+            return false;
+        }
+        return true;
+    }
+
+    // Keeps lookAhead launches queued, but never more than maxIdle browsers waiting for a taker
+    private void refill() {
+        while (warming.size() < Math.min(lookAhead, maxIdle)) {
+            launch();
+        }
+    }
+
+    private void launch() {
+        warming.add(launcher.submit(factory::get));
+    }
+
+    public long takes() {
+        return takes.sum();
+    }
+
+    public long coldStarts() {
+        return coldStarts.sum();
+    }
+
+    public double coldStartRatio() {
+        return takes() == 0 ? 0 : (double) coldStarts() / takes();
+    }
+
+    public double averageWaitMillis() {
+        return takes() == 0 ? 0 : waitNanos.sum() / 1_000_000.0 / takes();
+    }
+
+    @Override
+    public void close() {
+        Deque<Future<WebDriver>> pending;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending = new ArrayDeque<>(warming);
+            warming.clear();
+        }
+        launcher.shutdown();
+        for (Future<WebDriver> future : pending) {
+            try {
+                future.get(1, TimeUnit.MINUTES).quit();
+            } catch (Exception e) {
+                log.debug("Discarding pre-warmed session", e);
+                future.cancel(true);
+            }
+        }
+        log.info("Pre-warmed sessions: {}", this);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d takes, %d waited on a cold start (%.0f%%), avg wait %.0f ms",
+                takes(), coldStarts(), coldStartRatio() * 100, averageWaitMillis());
+    }
+}
@@ -0,0 +1,48 @@
+package com.wanhella.session;
+
+import com.wanhella.fixture.FixtureServer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Isolated
+public class PrewarmingDriverProviderTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String WEB_ROOT_URL = FixtureServer.webRoot();
+    private static final int ITERATIONS = 4;
+
+    @BeforeAll
+    static void setupClass() {
+        DriverResolutionCache.setup("chrome");
+    }
+
+    @Test
+    void testHandoffInsteadOfColdStart() {
+        try (PrewarmingDriverProvider provider = new PrewarmingDriverProvider(ChromeDriver::new, 1, 1)) {
+            long initMillis = System.currentTimeMillis();
+            for (int i = 0; i < ITERATIONS; i++) {
+                WebDriver driver = provider.take();
+                driver.get(WEB_ROOT_URL);
+                driver.quit();
+                // Stands in for a test body long enough to cover the background launch
+                assertThat(provider.awaitNext(Duration.ofMinutes(1))).isTrue();
+            }
+            Duration elapsed = Duration.ofMillis(System.currentTimeMillis() - initMillis);
+
+            log.info("{} tests took {} ms with pre-warming: {}", ITERATIONS, elapsed.toMillis(), provider);
+            assertThat(provider.takes()).isEqualTo(ITERATIONS);
+            // Only the first take finds nothing launched yet
+            assertThat(provider.coldStarts()).isEqualTo(1);
+        }
+    }
+}
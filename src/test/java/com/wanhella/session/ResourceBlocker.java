@@ -0,0 +1,231 @@
+package com.wanhella.session;
+
+import com.wanhella.fixture.HttpReplay;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v114.fetch.Fetch;
+import org.openqa.selenium.devtools.v114.fetch.model.RequestPattern;
+import org.openqa.selenium.devtools.v114.fetch.model.RequestPaused;
+import org.openqa.selenium.devtools.v114.fetch.model.RequestStage;
+import org.openqa.selenium.devtools.v114.network.Network;
+import org.openqa.selenium.devtools.v114.network.model.ErrorReason;
+import org.openqa.selenium.devtools.v114.network.model.RequestId;
+import org.openqa.selenium.devtools.v114.network.model.ResourceType;
+import org.openqa.selenium.devtools.v114.page.Page;
+import org.openqa.selenium.devtools.v114.page.model.FrameId;
+import org.slf4j.Logger;
+
+import java.lang.reflect.AnnotatedElement;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Fails requests matching the active {@link BlockingProfile}s through the CDP Fetch domain and keeps
+ * per-session counters of what was blocked and what was loaded. Only blocked resource types are
+ * paused, unless no-third-party is active, which has to look at every request.
+ * <p>
+ * Bytes avoided are estimated from the sizes of the same URLs loaded unblocked earlier in the run.
+ * <p>
+ * The listeners live on the driver's DevTools session, so other code using the same driver must join
+ * it with {@link DevTools#createSessionIfThereIsNotOne()}: {@link DevTools#createSession()} replaces
+ * the session and silently drops the blocker along with any paused requests.
+ */
+public class ResourceBlocker {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String PROFILES_PROPERTY = "driver.block.profiles";
+
+    private static final Map<WebDriver, ResourceBlocker> blockers = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, Long> knownSizes = new ConcurrentHashMap<>();
+
+    private final DevTools devTools;
+    private final FrameId mainFrame;
+    private final Map<RequestId, String> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder requestsBlocked = new LongAdder();
+    private final LongAdder bytesAvoided = new LongAdder();
+    private final LongAdder unknownSizes = new LongAdder();
+    private final LongAdder requestsLoaded = new LongAdder();
+    private final LongAdder bytesLoaded = new LongAdder();
+    private volatile Set<BlockingProfile> active = EnumSet.noneOf(BlockingProfile.class);
+    private volatile Set<ResourceType> blockedTypes = EnumSet.noneOf(ResourceType.class);
+    private volatile String firstPartyHost;
+
+    ResourceBlocker(HasDevTools driver) {
+        devTools = driver.getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        mainFrame = devTools.send(Page.getFrameTree()).getFrame().getId();
+
+        devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+        devTools.addListener(Network.requestWillBeSent(),
+                sent -> inFlight.put(sent.getRequestId(), sent.getRequest().getUrl()));
+        devTools.addListener(Network.loadingFinished(), finished -> {
+            String url = inFlight.remove(finished.getRequestId());
+            long length = finished.getEncodedDataLength().longValue();
+            requestsLoaded.increment();
+            bytesLoaded.add(length);
+            if (url != null) {
+                knownSizes.put(url, length);
+            }
+        });
+        devTools.addListener(Network.loadingFailed(), failed -> inFlight.remove(failed.getRequestId()));
+        devTools.addListener(Fetch.requestPaused(), this::onRequestPaused);
+    }
+
+    public static Optional<ResourceBlocker> forDriver(WebDriver driver) {
+        if (!(driver instanceof HasCdp) || !(driver instanceof HasDevTools devToolsDriver)) {
+            return Optional.empty();
+        }
+        if (HttpReplay.attachedTo(driver).isPresent()) {
+            throw new IllegalStateException(
+                    "Cannot block resources on a driver that records or replays traffic: both use the CDP Fetch domain");
+        }
+        return Optional.of(blockers.computeIfAbsent(driver, key -> new ResourceBlocker(devToolsDriver)));
+    }
+
+    public static Optional<ResourceBlocker> attachedTo(WebDriver driver) {
+        return Optional.ofNullable(blockers.get(driver));
+    }
+
+    public static Set<BlockingProfile> suiteProfiles() {
+        Set<BlockingProfile> profiles = EnumSet.noneOf(BlockingProfile.class);
+        String ids = System.getProperty(PROFILES_PROPERTY, "");
+        Arrays.stream(ids.split(","))
+                .filter(id -> !id.isBlank())
+                .map(BlockingProfile::fromId)
+                .forEach(profiles::add);
+        return profiles;
+    }
+
+    public static <T extends WebDriver> T withSuiteProfiles(T driver) {
+        Set<BlockingProfile> profiles = suiteProfiles();
+        if (!profiles.isEmpty()) {
+            forDriver(driver).ifPresent(blocker -> blocker.block(profiles));
+        }
+        return driver;
+    }
+
+    public static void applyAnnotated(WebDriver driver, AnnotatedElement element) {
+        BlockResources annotation = element.getAnnotation(BlockResources.class);
+        if (annotation != null) {
+            Set<BlockingProfile> profiles = EnumSet.noneOf(BlockingProfile.class);
+            profiles.addAll(List.of(annotation.value()));
+            forDriver(driver).ifPresent(blocker -> blocker.block(profiles));
+        }
+    }
+
+    /**
+     * Activates the given profiles together with the suite-wide ones.
+     */
+    public synchronized void block(Set<BlockingProfile> profiles) {
+        Set<BlockingProfile> combined = suiteProfiles();
+        combined.addAll(profiles);
+        combined.addAll(active);
+        apply(combined);
+    }
+
+    public synchronized void restoreSuiteProfiles() {
+        apply(suiteProfiles());
+    }
+
+    public Set<BlockingProfile> getActiveProfiles() {
+        return Collections.unmodifiableSet(active);
+    }
+
+    private void apply(Set<BlockingProfile> profiles) {
+        if (profiles.equals(active)) {
+            return;
+        }
+        Set<ResourceType> types = EnumSet.noneOf(ResourceType.class);
+        profiles.forEach(profile -> types.addAll(profile.getBlockedTypes()));
+        Set<BlockingProfile> copy = EnumSet.noneOf(BlockingProfile.class);
+        copy.addAll(profiles);
+        blockedTypes = types;
+        active = copy;
+
+        if (profiles.isEmpty()) {
+            devTools.send(Fetch.disable());
+            return;
+        }
+        List<RequestPattern> patterns = profiles.contains(BlockingProfile.NO_THIRD_PARTY)
+                ? List.of(pattern(Optional.empty()))
+                : types.stream().map(type -> pattern(Optional.of(type))).toList();
+        devTools.send(Fetch.enable(Optional.of(patterns), Optional.empty()));
+        log.debug("Blocking {} ({} request patterns)", profiles, patterns.size());
+    }
+
+    private static RequestPattern pattern(Optional<ResourceType> type) {
+        return new RequestPattern(Optional.of("*"), type, Optional.of(RequestStage.REQUEST));
+    }
+
+    private void onRequestPaused(RequestPaused paused) {
+        String url = paused.getRequest().getUrl();
+        ResourceType type = paused.getResourceType();
+        if (type == ResourceType.DOCUMENT && paused.getFrameId().equals(mainFrame)) {
+            firstPartyHost = host(url);
+        }
+
+        boolean thirdParty = active.contains(BlockingProfile.NO_THIRD_PARTY) && isThirdParty(url);
+        if (blockedTypes.contains(type) || thirdParty) {
+            requestsBlocked.increment();
+            Long size = knownSizes.get(url);
+            if (size != null) {
+                bytesAvoided.add(size);
+            } else {
+                unknownSizes.increment();
+            }
+            devTools.send(Fetch.failRequest(paused.getRequestId(), ErrorReason.BLOCKEDBYCLIENT));
+        } else {
+            devTools.send(Fetch.continueRequest(paused.getRequestId(), Optional.empty(), Optional.empty(),
+                    Optional.empty(), Optional.empty(), Optional.empty()));
+        }
+    }
+
+    private boolean isThirdParty(String url) {
+        String host = host(url);
+        String firstParty = firstPartyHost;
+        if (host == null || firstParty == null) {
+            return false;
+        }
+        return !(host.equals(firstParty) || host.endsWith("." + firstParty) || firstParty.endsWith("." + host));
+    }
+
+    private static String host(String url) {
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the counters since the previous call and starts over.
+     */
+    public BlockingStats takeStats() {
+        return new BlockingStats(active, requestsBlocked.sumThenReset(), bytesAvoided.sumThenReset(),
+                unknownSizes.sumThenReset(), requestsLoaded.sumThenReset(), bytesLoaded.sumThenReset());
+    }
+
+    public record BlockingStats(Set<BlockingProfile> profiles, long requestsBlocked, long bytesAvoided,
+                                long requestsWithUnknownSize, long requestsLoaded, long bytesLoaded) {
+        @Override
+        public String toString() {
+            return String.format("%s blocked %d request(s), avoided %d KB (%d of unknown size); loaded %d request(s), %d KB",
+                    profiles, requestsBlocked, bytesAvoided / 1024, requestsWithUnknownSize,
+                    requestsLoaded, bytesLoaded / 1024);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.wanhella.session;
+
+import com.wanhella.fixture.FixtureServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v114.network.Network;
+import org.slf4j.Logger;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Isolated
+@ExtendWith(DriverPoolExtension.class)
+public class ResourceBlockingTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String WEB_ROOT_URL = FixtureServer.webRoot();
+    private static final int LOADS = 3;
+
+    WebDriver driver;
+
+    @BeforeEach
+    void setup(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Test
+    @BlockResources(BlockingProfile.NO_IMAGES)
+    void testAnnotatedProfileBlocksImages() {
+        ResourceBlocker blocker = ResourceBlocker.attachedTo(driver).orElseThrow();
+        assertThat(blocker.getActiveProfiles()).contains(BlockingProfile.NO_IMAGES);
+
+        driver.get(WEB_ROOT_URL);
+        Object naturalWidth = ((JavascriptExecutor) driver)
+                .executeScript("return arguments[0].naturalWidth", driver.findElement(By.tagName("img")));
+        assertThat(naturalWidth).isEqualTo(0L);
+        assertThat(driver.getTitle()).contains("Selenium WebDriver");
+    }
+
+    @Test
+    @BlockResources(BlockingProfile.NO_IMAGES)
+    void testBlockingSurvivesTestOwnSession() {
+        ResourceBlocker blocker = ResourceBlocker.attachedTo(driver).orElseThrow();
+        blocker.takeStats();
+
+        // What CDPTest and ChromeDevtoolsTest do in their setup
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        List<String> requested = new CopyOnWriteArrayList<>();
+        devTools.addListener(Network.requestWillBeSent(), sent -> requested.add(sent.getRequest().getUrl()));
+
+        driver.get(WEB_ROOT_URL);
+        Object naturalWidth = ((JavascriptExecutor) driver)
+                .executeScript("return arguments[0].naturalWidth", driver.findElement(By.tagName("img")));
+        assertThat(naturalWidth).isEqualTo(0L);
+        assertThat(blocker.takeStats().requestsBlocked()).isPositive();
+        assertThat(requested).isNotEmpty();
+    }
+
+    @Test
+    void testPageLoadDeltaPerProfile() {
+        HasCdp cdp = (HasCdp) driver;
+        cdp.executeCdpCommand("Network.setCacheDisabled", Map.of("cacheDisabled", true));
+        try {
+            ResourceBlocker blocker = ResourceBlocker.forDriver(driver).orElseThrow();
+
+            blocker.restoreSuiteProfiles();
+            long baselineMillis = averageLoadMillis();
+            ResourceBlocker.BlockingStats baseline = blocker.takeStats();
+            log.info(String.format("%-16s %8s %8s %8s %12s", "profile", "load ms", "delta", "blocked", "KB avoided"));
+            log.info(String.format("%-16s %8d %8d %8d %12d", "none", baselineMillis, 0, baseline.requestsBlocked(), 0));
+
+            for (BlockingProfile profile : BlockingProfile.values()) {
+                blocker.restoreSuiteProfiles();
+                blocker.block(EnumSet.of(profile));
+                long millis = averageLoadMillis();
+                ResourceBlocker.BlockingStats stats = blocker.takeStats();
+                log.info(String.format("%-16s %8d %8d %8d %12d", profile.getId(), millis, millis - baselineMillis,
+                        stats.requestsBlocked() / LOADS, stats.bytesAvoided() / LOADS / 1024));
+            }
+
+            blocker.restoreSuiteProfiles();
+            blocker.block(Set.of(BlockingProfile.NO_IMAGES));
+            averageLoadMillis();
+            assertThat(blocker.takeStats().requestsBlocked()).isPositive();
+        } finally {
+            cdp.executeCdpCommand("Network.setCacheDisabled", Map.of("cacheDisabled", false));
+        }
+    }
+
+    // Same measurement as PageLoadJupiterTest, averaged over a few uncached loads
+    private long averageLoadMillis() {
+        long totalMillis = 0;
+        for (int i = 0; i < LOADS; i++) {
+            driver.get(DriverPool.BLANK_PAGE);
+            long initMillis = System.currentTimeMillis();
+            driver.get(WEB_ROOT_URL);
+            totalMillis += System.currentTimeMillis() - initMillis;
+        }
+        return totalMillis / LOADS;
+    }
+}
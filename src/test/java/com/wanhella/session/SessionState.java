@@ -0,0 +1,24 @@
+package com.wanhella.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cookies and web storage of a logged-in session, as captured by {@link SessionStateStore}. Cookies are
+ * kept in the shape of CDP {@code Network.CookieParam}, whichever way they were read.
+ */
+public record SessionState(String user, String origin, List<Map<String, Object>> cookies,
+                           Map<String, String> localStorage, Map<String, String> sessionStorage, Instant capturedAt) {
+
+    public SessionState {
+        cookies = List.copyOf(cookies);
+        localStorage = Map.copyOf(localStorage);
+        sessionStorage = Map.copyOf(sessionStorage);
+    }
+
+    public boolean isExpired(Instant now, Duration ttl) {
+        return !capturedAt.plus(ttl).isAfter(now);
+    }
+}
@@ -0,0 +1,272 @@
+package com.wanhella.session;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps the authenticated state of a session after one real login, keyed by user and origin, so that
+ * later sessions can start logged in without going through the login form again.
+ * <p>
+ * On Chromium, all cookies are read with {@code Network.getAllCookies} and written back with a single
+ * {@code Network.setCookies} before the page is loaded, and the web storage is seeded by a script that
+ * runs before the page's own scripts. Other browsers load the origin first, add the cookies one by one
+ * and then load the page again. States older than the TTL ({@code -Dsession.state.ttl}, ISO-8601, default
+ * 15 minutes) are dropped, as are cookies that have expired since they were captured.
+ */
+public class SessionStateStore {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String TTL_PROPERTY = "session.state.ttl";
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
+
+    private static final String CAPTURE_SCRIPT = """
+            function entries(storage) {
+              const values = {};
+              for (let i = 0; i < storage.length; i++) {
+                values[storage.key(i)] = storage.getItem(storage.key(i));
+              }
+              return values;
+            }
+            return {origin: location.origin, local: entries(localStorage), session: entries(sessionStorage)};
+            """;
+    private static final String SEED_FUNCTION = """
+            function seed(origin, local, session) {
+              if (location.origin === origin) {
+                Object.entries(local).forEach(([key, value]) => localStorage.setItem(key, value));
+                Object.entries(session).forEach(([key, value]) => sessionStorage.setItem(key, value));
+              }
+            }
+            """;
+    private static final Set<String> COOKIE_PARAMS = Set.of("name", "value", "domain", "path", "secure",
+            "httpOnly", "sameSite", "expires", "priority", "sameParty", "sourceScheme", "sourcePort");
+
+    private static final Json JSON = new Json();
+
+    private static SessionStateStore shared;
+
+    private final Map<Key, SessionState> states = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Clock clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SessionStateStore(Duration ttl) {
+        this(ttl, Clock.systemUTC());
+    }
+
+    SessionStateStore(Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public static synchronized SessionStateStore shared() {
+        if (shared == null) {
+            String ttl = System.getProperty(TTL_PROPERTY);
+            shared = new SessionStateStore(ttl == null ? DEFAULT_TTL : Duration.parse(ttl));
+        }
+        return shared;
+    }
+
+    /**
+     * Captures the state of the driver's current page, which must be on the origin the user logged in to.
+     */
+    @SuppressWarnings("unchecked")
+    public SessionState capture(WebDriver driver, String user) {
+        Map<String, Object> page = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        if (driver instanceof HasCdp cdp) {
+            List<Map<String, Object>> all = (List<Map<String, Object>>) cdp
+                    .executeCdpCommand("Network.getAllCookies", Map.of()).get("cookies");
+            for (Map<String, Object> cookie : all) {
+                Map<String, Object> param = new HashMap<>(cookie);
+                param.keySet().retainAll(COOKIE_PARAMS);
+                if (Boolean.TRUE.equals(cookie.get("session"))) {
+                    param.remove("expires");
+                }
+                cookies.add(param);
+            }
+        } else {
+            driver.manage().getCookies().forEach(cookie -> cookies.add(toParam(cookie)));
+        }
+        SessionState state = new SessionState(user, (String) page.get("origin"), cookies,
+                (Map<String, String>) page.get("local"), (Map<String, String>) page.get("session"), clock.instant());
+        put(state);
+        log.debug("Captured {} cookie(s) and {} storage item(s) for {} on {}", cookies.size(),
+                state.localStorage().size() + state.sessionStorage().size(), user, state.origin());
+        return state;
+    }
+
+    void put(SessionState state) {
+        states.put(new Key(state.user(), state.origin()), state);
+    }
+
+    public Optional<SessionState> get(String user, String origin) {
+        Key key = new Key(user, origin);
+        SessionState state = states.get(key);
+        if (state != null && state.isExpired(clock.instant(), ttl)) {
+            states.remove(key, state);
+            state = null;
+        }
+        if (state == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return Optional.ofNullable(state);
+    }
+
+    /**
+     * Restores the user's state for the origin of {@code url} and loads {@code url}. Returns false, leaving
+     * the driver untouched, when there is no valid state for them.
+     */
+    public boolean restore(WebDriver driver, String user, String url) {
+        Optional<SessionState> state = get(user, originOf(url));
+        state.ifPresent(found -> restore(driver, found, url));
+        return state.isPresent();
+    }
+
+    /**
+     * Restores the user's state if there is one, otherwise logs in with {@code login}, which is given the
+     * driver on {@code url}, and captures the state it leaves behind.
+     */
+    public void restoreOrLogin(WebDriver driver, String user, String url, Consumer<WebDriver> login) {
+        if (!restore(driver, user, url)) {
+            driver.get(url);
+            login.accept(driver);
+            capture(driver, user);
+        }
+    }
+
+    private void restore(WebDriver driver, SessionState state, String url) {
+        List<Map<String, Object>> cookies = liveCookies(state);
+        if (driver instanceof HasCdp cdp) {
+            List<Map<String, Object>> params = cookies.stream().map(SessionStateStore::scoped).toList();
+            cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", params));
+            String seed = SEED_FUNCTION + String.format("seed(%s, %s, %s);", JSON.toJson(state.origin()),
+                    JSON.toJson(state.localStorage()), JSON.toJson(state.sessionStorage()));
+            Map<String, Object> added = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", seed));
+            try {
+                driver.get(url);
+            } finally {
+                cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", added.get("identifier")));
+            }
+        } else {
+            driver.get(state.origin());
+            cookies.forEach(cookie -> driver.manage().addCookie(toCookie(cookie)));
+            ((JavascriptExecutor) driver).executeScript(SEED_FUNCTION + "seed(...arguments);",
+                    state.origin(), state.localStorage(), state.sessionStorage());
+            driver.get(url);
+        }
+    }
+
+    // A domain makes Network.setCookies create a domain cookie, so host-only ones are set by URL instead
+    private static Map<String, Object> scoped(Map<String, Object> cookie) {
+        if (!isHostOnly(cookie)) {
+            return cookie;
+        }
+        Map<String, Object> param = new HashMap<>(cookie);
+        String scheme = Boolean.TRUE.equals(cookie.get("secure")) ? "https://" : "http://";
+        Object path = param.getOrDefault("path", "/");
+        param.put("url", scheme + param.remove("domain") + path);
+        return param;
+    }
+
+    private static boolean isHostOnly(Map<String, Object> cookie) {
+        return cookie.get("domain") instanceof String domain && !domain.startsWith(".");
+    }
+
+    private List<Map<String, Object>> liveCookies(SessionState state) {
+        double now = clock.instant().getEpochSecond();
+        return state.cookies().stream()
+                .filter(cookie -> !(cookie.get("expires") instanceof Number expires) || expires.doubleValue() > now)
+                .toList();
+    }
+
+    public void invalidate(String user, String origin) {
+        states.remove(new Key(user, origin));
+    }
+
+    public void invalidate(String user) {
+        states.keySet().removeIf(key -> key.user().equals(user));
+    }
+
+    public void invalidateAll() {
+        states.clear();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    static String originOf(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+    }
+
+    private static Map<String, Object> toParam(Cookie cookie) {
+        Map<String, Object> param = new HashMap<>();
+        param.put("name", cookie.getName());
+        param.put("value", cookie.getValue());
+        param.put("domain", cookie.getDomain());
+        param.put("path", cookie.getPath());
+        param.put("secure", cookie.isSecure());
+        param.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getSameSite() != null) {
+            param.put("sameSite", cookie.getSameSite());
+        }
+        if (cookie.getExpiry() != null) {
+            param.put("expires", cookie.getExpiry().getTime() / 1000.0);
+        }
+        return param;
+    }
+
+    private static Cookie toCookie(Map<String, Object> param) {
+        Cookie.Builder builder = new Cookie.Builder((String) param.get("name"), (String) param.get("value"))
+                // Without a domain the cookie stays host-only for the page the driver is on
+                .domain(isHostOnly(param) ? null : (String) param.get("domain"))
+                .path((String) param.get("path"))
+                .isSecure(Boolean.TRUE.equals(param.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(param.get("httpOnly")));
+        if (param.get("sameSite") instanceof String sameSite) {
+            builder.sameSite(sameSite);
+        }
+        if (param.get("expires") instanceof Number expires) {
+            builder.expiresOn(new Date((long) (expires.doubleValue() * 1000)));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d state(s), %d hit(s), %d miss(es), TTL %s", states.size(), hits(), misses(), ttl);
+    }
+
+    private record Key(String user, String origin) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.wanhella.session;
+
+import com.wanhella.fixture.FixtureServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.slf4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+public class SessionStateStoreTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String LOGIN_URL = FixtureServer.webRoot() + "login-form.html";
+    private static final int ITERATIONS = 5;
+
+    static DriverPool pool;
+
+    @BeforeAll
+    static void setupClass() {
+        DriverResolutionCache.setup("chrome");
+        pool = new DriverPool("chrome", ChromeDriver::new, 1);
+    }
+
+    @AfterAll
+    static void teardownClass() {
+        pool.close();
+    }
+
+    // The practice page keeps no state, so do what a real application would on success
+    static void login(WebDriver driver) {
+        driver.findElement(By.id("username")).sendKeys("user");
+        driver.findElement(By.id("password")).sendKeys("user");
+        driver.findElement(By.cssSelector("button")).click();
+        assertThat(driver.findElement(By.id("success")).isDisplayed()).isTrue();
+        ((JavascriptExecutor) driver).executeScript("document.cookie = 'session=abc123; path=/';"
+                + "localStorage.setItem('token', 'jwt'); sessionStorage.setItem('tab', 'home');");
+    }
+
+    @Test
+    void testRestoreSkipsLogin() {
+        SessionStateStore store = new SessionStateStore(Duration.ofMinutes(1));
+        WebDriver driver = pool.acquire();
+        store.restoreOrLogin(driver, "user", LOGIN_URL, SessionStateStoreTest::login);
+        pool.release(driver);
+
+        WebDriver fresh = pool.acquire();
+        assertThat(store.restore(fresh, "user", LOGIN_URL)).isTrue();
+        assertThat(fresh.manage().getCookieNamed("session").getValue()).isEqualTo("abc123");
+        // Set without a domain by the page, so it must not come back as a domain cookie
+        assertThat(fresh.manage().getCookieNamed("session").getDomain()).doesNotStartWith(".");
+        JavascriptExecutor js = (JavascriptExecutor) fresh;
+        assertThat(js.executeScript("return localStorage.getItem('token');")).isEqualTo("jwt");
+        assertThat(js.executeScript("return sessionStorage.getItem('tab');")).isEqualTo("home");
+        pool.release(fresh);
+
+        assertThat(store.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void testRestoreVersusUiLogin() {
+        SessionStateStore store = new SessionStateStore(Duration.ofMinutes(1));
+        long initMillis = System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            WebDriver driver = pool.acquire();
+            driver.get(LOGIN_URL);
+            login(driver);
+            store.capture(driver, "user");
+            pool.release(driver);
+        }
+        long loginMillis = (System.currentTimeMillis() - initMillis) / ITERATIONS;
+
+        initMillis = System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            WebDriver driver = pool.acquire();
+            assertThat(store.restore(driver, "user", LOGIN_URL)).isTrue();
+            pool.release(driver);
+        }
+        long restoreMillis = (System.currentTimeMillis() - initMillis) / ITERATIONS;
+
+        log.info("Start logged in: UI login {} ms, restored state {} ms ({})",
+                loginMillis, restoreMillis, store);
+    }
+
+    @Test
+    void testTtlAndInvalidation() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        SessionStateStore store = new SessionStateStore(Duration.ofMinutes(10), clock);
+        String origin = "http://localhost:8080";
+        store.put(new SessionState("user", origin, List.of(), Map.of(), Map.of(), clock.instant()));
+        store.put(new SessionState("admin", origin, List.of(), Map.of(), Map.of(), clock.instant()));
+
+        assertThat(store.get("user", origin)).isPresent();
+        store.invalidate("admin");
+        assertThat(store.get("admin", origin)).isEmpty();
+
+        clock.now = clock.now.plus(Duration.ofMinutes(10));
+        assertThat(store.get("user", origin)).isEmpty();
+        assertThat(SessionStateStore.originOf(LOGIN_URL)).doesNotEndWith("/");
+    }
+
+    static class MutableClock extends Clock {
+        Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
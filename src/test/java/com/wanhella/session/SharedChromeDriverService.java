@@ -0,0 +1,161 @@
+package com.wanhella.session;
+
+import com.wanhella.fixture.HttpReplay;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * One chromedriver process that many ChromeDriver sessions attach to, either per JVM or per thread
+ * ({@code driver.service.scope=jvm|thread}). Drivers get a thin service whose stop() is a no-op, so
+ * quitting a session leaves the shared process running.
+ */
+public class SharedChromeDriverService {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final String SCOPE_PROPERTY = "driver.service.scope";
+
+    private static final Set<SharedChromeDriverService> instances = ConcurrentHashMap.newKeySet();
+    private static final SharedChromeDriverService jvmService = new SharedChromeDriverService();
+    private static final ThreadLocal<SharedChromeDriverService> threadServices =
+            ThreadLocal.withInitial(SharedChromeDriverService::new);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(
+                () -> instances.forEach(SharedChromeDriverService::stop), "chromedriver-shutdown"));
+    }
+
+    private final LongAdder starts = new LongAdder();
+    private final LongAdder attached = new LongAdder();
+    private ChromeDriverService service;
+    private File executable;
+
+    SharedChromeDriverService() {
+        instances.add(this);
+    }
+
+    public static SharedChromeDriverService get() {
+        return "thread".equalsIgnoreCase(System.getProperty(SCOPE_PROPERTY)) ? threadServices.get() : jvmService;
+    }
+
+    public ChromeDriver newDriver(ChromeOptions options) {
+        HttpReplay.checkSuiteProperties();
+        return HttpReplay.withSuiteArchive(ResourceBlocker.withSuiteProfiles(new ChromeDriver(attach(), options)));
+    }
+
+    public synchronized ChromeDriverService attach() {
+        ensureRunning();
+        attached.increment();
+        try {
+            return new AttachedService(executable, service.getUrl().getPort());
+        } catch (IOException e) {
+            throw new WebDriverException("Unable to attach to shared chromedriver at " + service.getUrl(), e);
+        }
+    }
+
+    private synchronized void ensureRunning() {
+        if (service != null && service.isRunning()) {
+            return;
+        }
+        if (service != null) {
+            log.warn("Shared chromedriver at {} is not running anymore, restarting it", service.getUrl());
+            service.stop();
+        }
+        if (executable == null) {
+            executable = resolveExecutable();
+        }
+        service = new ChromeDriverService.Builder()
+                .usingDriverExecutable(executable)
+                .usingAnyFreePort()
+                .withLogOutput(System.out)
+                .build();
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new WebDriverException("Unable to start shared chromedriver", e);
+        }
+        starts.increment();
+        log.debug("Shared chromedriver listening on {}", service.getUrl());
+    }
+
+    private static File resolveExecutable() {
+        return new File(DriverResolutionCache.setup("chrome"));
+    }
+
+    public synchronized boolean isRunning() {
+        return service != null && service.isRunning();
+    }
+
+    /**
+     * The running chromedriver process, found among this JVM's children by its executable and port.
+     */
+    synchronized Optional<ProcessHandle> process() {
+        if (service == null) {
+            return Optional.empty();
+        }
+        String port = "--port=" + service.getUrl().getPort();
+        return ProcessHandle.current().children()
+                .filter(child -> child.info().command()
+                        .map(command -> new File(command).getName().equals(executable.getName()))
+                        .orElse(false))
+                .filter(child -> child.info().arguments()
+                        .map(arguments -> Arrays.asList(arguments).contains(port))
+                        .orElse(false))
+                .findFirst();
+    }
+
+    public long processStarts() {
+        return starts.sum();
+    }
+
+    public long sessionsAttached() {
+        return attached.sum();
+    }
+
+    public synchronized void stop() {
+        if (service != null) {
+            service.stop();
+            service = null;
+            log.info("Shared chromedriver stopped after {} start(s) serving {} session(s)",
+                    processStarts(), sessionsAttached());
+        }
+    }
+
+    private class AttachedService extends ChromeDriverService {
+
+        AttachedService(File executable, int port) throws IOException {
+            super(executable, port, Duration.ofSeconds(20), List.of(), Map.of());
+        }
+
+        @Override
+        public void start() {
+            ensureRunning();
+        }
+
+        @Override
+        public boolean isRunning() {
+            return SharedChromeDriverService.this.isRunning();
+        }
+
+        @Override
+        public void stop() {
+            // The process outlives the session; see SharedChromeDriverService#stop
+        }
+    }
+}
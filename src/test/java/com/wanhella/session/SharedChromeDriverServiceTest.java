@@ -0,0 +1,74 @@
+package com.wanhella.session;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Isolated
+public class SharedChromeDriverServiceTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final int ITERATIONS = 5;
+
+    @BeforeAll
+    static void setupClass() {
+        DriverResolutionCache.setup("chrome");
+    }
+
+    @Test
+    void testStartupLatency() {
+        long initMillis = System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            WebDriver driver;
+            try (ChromeDriverService service = new ChromeDriverService.Builder().withLogOutput(System.out).build()) {
+                driver = new ChromeDriver(service);
+            }
+            driver.quit();
+        }
+        Duration perTest = Duration.ofMillis(System.currentTimeMillis() - initMillis);
+
+        SharedChromeDriverService shared = new SharedChromeDriverService();
+        initMillis = System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            shared.newDriver(new ChromeOptions()).quit();
+        }
+        Duration sharedService = Duration.ofMillis(System.currentTimeMillis() - initMillis);
+
+        log.info("{} sessions: {} ms with a chromedriver per session, {} ms with a shared one",
+                ITERATIONS, perTest.toMillis(), sharedService.toMillis());
+        assertThat(shared.isRunning()).isTrue();
+        assertThat(shared.processStarts()).isEqualTo(1);
+        shared.stop();
+    }
+
+    @Test
+    void testRestartAfterCrash() throws Exception {
+        SharedChromeDriverService shared = new SharedChromeDriverService();
+        shared.newDriver(new ChromeOptions()).quit();
+
+        ProcessHandle chromedriver = shared.process().orElseThrow();
+        chromedriver.destroyForcibly();
+        chromedriver.onExit().get(10, TimeUnit.SECONDS);
+        assertThat(shared.isRunning()).isFalse();
+
+        WebDriver driver = shared.newDriver(new ChromeOptions());
+        driver.get("about:blank");
+        driver.quit();
+
+        assertThat(shared.processStarts()).isEqualTo(2);
+        assertThat(shared.process()).isPresent().get().isNotEqualTo(chromedriver);
+        shared.stop();
+    }
+}
@@ -0,0 +1,45 @@
+package com.wanhella.session;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leases at most one pooled driver per browser to the calling thread. Whatever runs on a JUnit worker
+ * thread (test, page objects, extensions) sees the same driver until {@link #release()}.
+ */
+public final class ThreadConfinedDriverProvider {
+    private static final ThreadLocal<Map<String, WebDriver>> leases = ThreadLocal.withInitial(HashMap::new);
+
+    private ThreadConfinedDriverProvider() {
+    }
+
+    public static WebDriver get() {
+        return get("chrome");
+    }
+
+    public static WebDriver get(String browser) {
+        return leases.get().computeIfAbsent(browser.toLowerCase(), name -> DriverPool.forBrowser(name).acquire());
+    }
+
+    public static boolean hasDriver() {
+        return !leases.get().isEmpty();
+    }
+
+    public static boolean hasDriver(String browser) {
+        return leases.get().containsKey(browser.toLowerCase());
+    }
+
+    public static Collection<WebDriver> leased() {
+        return List.copyOf(leases.get().values());
+    }
+
+    public static void release() {
+        Map<String, WebDriver> leased = leases.get();
+        leased.forEach((browser, driver) -> DriverPool.forBrowser(browser).release(driver));
+        leased.clear();
+    }
+}
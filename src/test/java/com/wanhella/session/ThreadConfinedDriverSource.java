@@ -0,0 +1,36 @@
+package com.wanhella.session;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+
+final class ThreadConfinedDriverSource implements DriverSource {
+    static final ThreadConfinedDriverSource INSTANCE = new ThreadConfinedDriverSource();
+
+    private final DriverSourceStats stats = new DriverSourceStats("thread");
+
+    private ThreadConfinedDriverSource() {
+    }
+
+    @Override
+    public WebDriver borrow(String browser, Capabilities capabilities) {
+        if (!capabilities.asMap().isEmpty()) {
+            throw new IllegalArgumentException("Thread-confined drivers have default capabilities, not " + capabilities);
+        }
+        long initNanos = System.nanoTime();
+        boolean leased = ThreadConfinedDriverProvider.hasDriver(browser);
+        WebDriver driver = ThreadConfinedDriverProvider.get(browser);
+        stats.recordBorrow(System.nanoTime() - initNanos, !leased);
+        return driver;
+    }
+
+    @Override
+    public void giveBack(WebDriver driver) {
+        // Stays leased to the thread until ThreadConfinedDriverProvider.release()
+        stats.recordReturn();
+    }
+
+    @Override
+    public DriverSourceStats stats() {
+        return stats;
+    }
+}
@@ -0,0 +1,201 @@
+package com.wanhella.wait;
+
+import com.wanhella.locator.ScriptLocators;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Drop-in versions of common {@link ExpectedConditions} that {@link #and(ExpectedCondition[])} can
+ * compile into one in-page predicate, so a poll of any number of them costs a single executeScript.
+ * Used on their own they behave exactly like the ExpectedConditions they wrap. Conditions that cannot
+ * be compiled (other ExpectedConditions, or locators the page cannot resolve) are evaluated one by
+ * one after the compiled ones hold. A compiled condition the page cannot decide on its own, such as
+ * attributeToBe on an empty attribute, is checked through its ExpectedCondition as well.
+ */
+public final class BatchedConditions {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String EVALUATE_SCRIPT = ScriptLocators.FIND_ALL_FUNCTION
+            + ScriptLocators.IS_VISIBLE_FUNCTION + ScriptLocators.ATTRIBUTE_FUNCTION + """
+            return arguments[0].map(spec => {
+              const found = findAll(spec.using, spec.value);
+              const first = found[0];
+              switch (spec.kind) {
+                case 'presence': return found.length > 0;
+                case 'visibility': return first !== undefined && isVisible(first);
+                case 'text': return first !== undefined && first.innerText.trim() === spec.expected;
+                case 'count': return found.length === spec.expected;
+                case 'countMoreThan': return found.length > spec.expected;
+                case 'attribute': {
+                  if (first === undefined) {
+                    return false;
+                  }
+                  // An empty attribute falls back to getCssValue(), which the driver has to answer
+                  const value = attribute(first, spec.name);
+                  return value === null || value === '' ? null : value === spec.expected;
+                }
+              }
+              throw new Error('Unsupported condition ' + spec.kind);
+            });
+            """;
+
+    private BatchedConditions() {
+    }
+
+    public static Compilable<WebElement> presenceOfElementLocated(By locator) {
+        return new Compilable<>(ExpectedConditions.presenceOfElementLocated(locator), locator, "presence", Map.of());
+    }
+
+    public static Compilable<WebElement> visibilityOfElementLocated(By locator) {
+        return new Compilable<>(ExpectedConditions.visibilityOfElementLocated(locator), locator, "visibility", Map.of());
+    }
+
+    public static Compilable<Boolean> textToBe(By locator, String value) {
+        return new Compilable<>(ExpectedConditions.textToBe(locator, value), locator, "text", Map.of("expected", value));
+    }
+
+    public static Compilable<List<WebElement>> numberOfElementsToBe(By locator, int number) {
+        return new Compilable<>(ExpectedConditions.numberOfElementsToBe(locator, number), locator, "count",
+                Map.of("expected", number));
+    }
+
+    public static Compilable<List<WebElement>> numberOfElementsToBeMoreThan(By locator, int number) {
+        return new Compilable<>(ExpectedConditions.numberOfElementsToBeMoreThan(locator, number), locator,
+                "countMoreThan", Map.of("expected", number));
+    }
+
+    public static Compilable<Boolean> attributeToBe(By locator, String attribute, String value) {
+        return new Compilable<>(ExpectedConditions.attributeToBe(locator, attribute, value), locator, "attribute",
+                Map.of("name", attribute, "expected", value));
+    }
+
+    /**
+     * Holds when every condition holds. Compiled conditions are checked first, in one script.
+     */
+    public static ExpectedCondition<Boolean> and(ExpectedCondition<?>... conditions) {
+        List<Map<String, Object>> specs = new ArrayList<>();
+        List<ExpectedCondition<?>> compiled = new ArrayList<>();
+        List<ExpectedCondition<?>> fallback = new ArrayList<>();
+        for (ExpectedCondition<?> condition : conditions) {
+            Optional<Map<String, Object>> spec = condition instanceof Compilable<?> compilable
+                    ? compilable.spec() : Optional.empty();
+            if (spec.isPresent()) {
+                specs.add(spec.get());
+                compiled.add(condition);
+            } else {
+                fallback.add(condition);
+            }
+        }
+        return new Batch(specs, compiled, fallback);
+    }
+
+    private static boolean holds(Object value) {
+        return value != null && !Boolean.FALSE.equals(value);
+    }
+
+    public static final class Compilable<T> implements ExpectedCondition<T> {
+        private final ExpectedCondition<T> delegate;
+        private final By locator;
+        private final String kind;
+        private final Map<String, Object> arguments;
+
+        Compilable(ExpectedCondition<T> delegate, By locator, String kind, Map<String, Object> arguments) {
+            this.delegate = delegate;
+            this.locator = locator;
+            this.kind = kind;
+            this.arguments = arguments;
+        }
+
+        Optional<Map<String, Object>> spec() {
+            return ScriptLocators.parameters(locator).map(parameters -> {
+                Map<String, Object> spec = new HashMap<>(arguments);
+                spec.put("kind", kind);
+                spec.put("using", parameters.using());
+                spec.put("value", parameters.value());
+                return spec;
+            });
+        }
+
+        @Override
+        public T apply(WebDriver driver) {
+            return delegate.apply(driver);
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    private static final class Batch implements ExpectedCondition<Boolean> {
+        private final List<Map<String, Object>> specs;
+        private final List<ExpectedCondition<?>> compiled;
+        private final List<ExpectedCondition<?>> fallback;
+        private boolean scriptFailed;
+
+        Batch(List<Map<String, Object>> specs, List<ExpectedCondition<?>> compiled, List<ExpectedCondition<?>> fallback) {
+            this.specs = specs;
+            this.compiled = compiled;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public Boolean apply(WebDriver driver) {
+            if (!compiled.isEmpty()) {
+                if (!scriptFailed && driver instanceof JavascriptExecutor js) {
+                    try {
+                        List<?> results = (List<?>) js.executeScript(EVALUATE_SCRIPT, specs);
+                        if (results.contains(Boolean.FALSE)) {
+                            return false;
+                        }
+                        for (int i = 0; i < results.size(); i++) {
+                            if (results.get(i) == null && !holds(compiled.get(i).apply(driver))) {
+                                return false;
+                            }
+                        }
+                    } catch (JavascriptException e) {
+                        log.debug("Evaluating {} one by one, the compiled predicate failed", compiled, e);
+                        scriptFailed = true;
+                    }
+                }
+                if (scriptFailed || !(driver instanceof JavascriptExecutor)) {
+                    if (!allHold(compiled, driver)) {
+                        return false;
+                    }
+                }
+            }
+            return allHold(fallback, driver);
+        }
+
+        private static boolean allHold(List<ExpectedCondition<?>> conditions, WebDriver driver) {
+            for (ExpectedCondition<?> condition : conditions) {
+                if (!holds(condition.apply(driver))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            List<ExpectedCondition<?>> all = new ArrayList<>(compiled);
+            all.addAll(fallback);
+            return "all of " + all;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.wanhella.wait;
+
+import com.wanhella.CommandCounter;
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverPoolExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Wait;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@ExtendWith(DriverPoolExtension.class)
+public class BatchedConditionsTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String WEB_ROOT_URL = FixtureServer.webRoot();
+    private static final List<String> IMAGES = List.of("compass", "calendar", "award", "landscape");
+
+    WebDriver driver;
+    CommandCounter counter;
+
+    @BeforeEach
+    void setup(WebDriver driver) {
+        counter = new CommandCounter();
+        // Not quit here: the pooled driver underneath goes back to the pool after each test
+        this.driver = new EventFiringDecorator<>(counter).decorate(driver);
+    }
+
+    @Test
+    void testCompiledConditionsMatchExpectedConditions() {
+        driver.get(WEB_ROOT_URL + "web-form.html");
+        By text = By.name("my-text");
+        assertThat(BatchedConditions.and(
+                BatchedConditions.presenceOfElementLocated(text),
+                BatchedConditions.visibilityOfElementLocated(By.id("my-text-id")),
+                BatchedConditions.attributeToBe(text, "value", ""),
+                BatchedConditions.numberOfElementsToBe(By.tagName("form"), 1),
+                BatchedConditions.textToBe(By.tagName("h1"), driver.findElement(By.tagName("h1")).getText()),
+                ExpectedConditions.titleContains("Selenium")).apply(driver)).isTrue();
+        assertThat(BatchedConditions.and(
+                BatchedConditions.presenceOfElementLocated(text),
+                BatchedConditions.numberOfElementsToBeMoreThan(By.xpath("//form"), 1)).apply(driver)).isFalse();
+    }
+
+    @Test
+    void testAttributeMatchesGetAttribute() {
+        driver.get(WEB_ROOT_URL + "web-form.html");
+        By checked = By.id("my-check-1");
+        By unchecked = By.id("my-check-2");
+        for (By checkbox : List.of(checked, unchecked)) {
+            for (String value : List.of("true", "false", "")) {
+                assertThat(BatchedConditions.and(BatchedConditions.attributeToBe(checkbox, "checked", value))
+                        .apply(driver))
+                        .as("checked of %s is '%s'", checkbox, value)
+                        .isEqualTo(ExpectedConditions.attributeToBe(checkbox, "checked", value).apply(driver));
+            }
+        }
+        // An empty attribute is compared with the CSS value, as ExpectedConditions does
+        String display = driver.findElement(unchecked).getCssValue("display");
+        assertThat(BatchedConditions.and(BatchedConditions.attributeToBe(unchecked, "display", display))
+                .apply(driver)).isTrue();
+    }
+
+    @Test
+    void testExplicitWait() {
+        compare("explicit wait", "loading-images.html", new WebDriverWait(driver, Duration.ofSeconds(10)),
+                List.of(ExpectedConditions.presenceOfElementLocated(By.id("landscape"))),
+                List.of(BatchedConditions.presenceOfElementLocated(By.id("landscape"))));
+    }
+
+    @Test
+    void testFluentWait() {
+        Wait<WebDriver> wait = new FluentWait<>(driver)
+                .withTimeout(Duration.ofSeconds(10))
+                .pollingEvery(Duration.ofSeconds(1))
+                .ignoring(NoSuchElementException.class);
+        compare("fluent wait", "loading-images.html", wait,
+                List.of(ExpectedConditions.presenceOfElementLocated(By.id("landscape"))),
+                List.of(BatchedConditions.presenceOfElementLocated(By.id("landscape"))));
+    }
+
+    @Test
+    void testAllImagesVisible() {
+        compare("all images visible", "loading-images.html", new WebDriverWait(driver, Duration.ofSeconds(10)),
+                IMAGES.stream().<ExpectedCondition<?>>map(id -> ExpectedConditions.visibilityOfElementLocated(By.id(id))).toList(),
+                IMAGES.stream().<ExpectedCondition<?>>map(id -> BatchedConditions.visibilityOfElementLocated(By.id(id))).toList());
+    }
+
+    @Test
+    void testSlowCalculator() {
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        By screen = By.className("screen");
+
+        addOneAndThree();
+        counter.reset();
+        wait.until(ExpectedConditions.textToBe(screen, "4"));
+        long before = counter.total();
+
+        addOneAndThree();
+        counter.reset();
+        wait.until(BatchedConditions.and(BatchedConditions.textToBe(screen, "4")));
+        report("slow calculator", before, counter.total());
+    }
+
+    private void addOneAndThree() {
+        driver.get(WEB_ROOT_URL + "slow-calculator.html");
+        driver.findElement(By.xpath("//span[text()='1']")).click();
+        driver.findElement(By.xpath("//span[text()='+']")).click();
+        driver.findElement(By.xpath("//span[text()='3']")).click();
+        driver.findElement(By.xpath("//span[text()='=']")).click();
+    }
+
+    // Chained waits as the tests write them today, then the same conditions batched into one wait
+    private void compare(String scenario, String page, Wait<WebDriver> wait,
+                         List<ExpectedCondition<?>> chained, List<ExpectedCondition<?>> batched) {
+        driver.get(WEB_ROOT_URL + page);
+        counter.reset();
+        for (Function<WebDriver, ?> condition : chained) {
+            wait.until(condition);
+        }
+        long before = counter.total();
+
+        driver.get(WEB_ROOT_URL + page);
+        counter.reset();
+        wait.until(BatchedConditions.and(batched.toArray(ExpectedCondition<?>[]::new)));
+        report(scenario, before, counter.total());
+    }
+
+    private void report(String scenario, long before, long after) {
+        log.info(String.format("%-20s %4d commands chained, %4d batched", scenario, before, after));
+        assertThat(after).isLessThanOrEqualTo(before);
+    }
+}
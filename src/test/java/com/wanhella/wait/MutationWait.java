@@ -0,0 +1,195 @@
+package com.wanhella.wait;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A {@link WebDriverWait} that sleeps inside the page instead of in the JVM. Between two evaluations
+ * of the condition it parks in an async script until a MutationObserver sees the DOM change (or one
+ * polling interval passes), so a condition met right after a check is seen on the next mutation
+ * rather than on the next poll. Pages or drivers that cannot run the observer get plain polling.
+ */
+public class MutationWait extends WebDriverWait {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    public static final Duration DEFAULT_SLICE = Duration.ofMillis(500);
+    private static final int MAX_SCRIPT_FAILURES = 3;
+
+    // A single observer per document bumps a counter; callers pass the last value they saw, so changes
+    // that happen while the condition is being evaluated on the Java side are not lost
+    private static final String AWAIT_MUTATION_SCRIPT = """
+            const lastSeen = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];
+            if (!window.__mutationWait) {
+              const state = window.__mutationWait = {count: 0, listeners: []};
+              new MutationObserver(() => {
+                state.count++;
+                state.listeners.splice(0).forEach(listener => listener());
+              }).observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+            }
+            const state = window.__mutationWait;
+            if (lastSeen !== null && state.count !== lastSeen) {
+              done(state.count);
+              return;
+            }
+            const timer = setTimeout(() => done(state.count), timeout);
+            state.listeners.push(() => { clearTimeout(timer); done(state.count); });
+            """;
+
+    private final WebDriver driver;
+    private Duration timeout;
+    private Duration slice;
+    private Supplier<String> messageSupplier;
+    private List<Class<? extends Throwable>> ignoredExceptions;
+    private boolean observerSupported;
+    private int scriptFailures;
+    private long evaluations;
+    private long mutationWakeups;
+
+    public MutationWait(WebDriver driver, Duration timeout) {
+        this(driver, timeout, DEFAULT_SLICE);
+    }
+
+    public MutationWait(WebDriver driver, Duration timeout, Duration slice) {
+        super(driver, timeout, slice);
+        this.driver = driver;
+        this.observerSupported = driver instanceof JavascriptExecutor;
+    }
+
+    // The setters below are called from the WebDriverWait constructor too, before this class's
+    // constructor body runs, so the fields must not have initializers
+    @Override
+    public MutationWait withTimeout(Duration timeout) {
+        this.timeout = timeout;
+        super.withTimeout(timeout);
+        return this;
+    }
+
+    @Override
+    public MutationWait pollingEvery(Duration interval) {
+        this.slice = interval;
+        super.pollingEvery(interval);
+        return this;
+    }
+
+    @Override
+    public MutationWait withMessage(String message) {
+        return withMessage(() -> message);
+    }
+
+    @Override
+    public MutationWait withMessage(Supplier<String> messageSupplier) {
+        this.messageSupplier = messageSupplier;
+        super.withMessage(messageSupplier);
+        return this;
+    }
+
+    @Override
+    public FluentWait<WebDriver> ignoreAll(Collection<Class<? extends Throwable>> types) {
+        if (ignoredExceptions == null) {
+            ignoredExceptions = new ArrayList<>();
+        }
+        ignoredExceptions.addAll(types);
+        return super.ignoreAll(types);
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        long endNanos = System.nanoTime() + timeout.toNanos();
+        Long lastSeen = null;
+        Throwable lastException = null;
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            evaluations++;
+            try {
+                V value = isTrue.apply(driver);
+                if (value != null && (Boolean.class != value.getClass() || Boolean.TRUE.equals(value))) {
+                    return value;
+                }
+                lastException = null;
+            } catch (Throwable e) {
+                lastException = propagateIfNotIgnored(e);
+            }
+
+            long remainingNanos = endNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                String custom = messageSupplier == null ? null : messageSupplier.get();
+                String message = String.format("Expected condition failed: %s (tried for %d second(s) with %d evaluation(s))",
+                        custom == null ? "waiting for " + isTrue : custom, timeout.getSeconds(), attempts);
+                throw timeoutException(message, lastException);
+            }
+            Duration wait = Duration.ofNanos(Math.min(remainingNanos, slice.toNanos()));
+            lastSeen = observerSupported ? awaitMutation(lastSeen, wait) : sleep(wait);
+        }
+    }
+
+    private Throwable propagateIfNotIgnored(Throwable e) {
+        for (Class<? extends Throwable> ignored : ignoredExceptions) {
+            if (ignored.isInstance(e)) {
+                return e;
+            }
+        }
+        if (e instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        throw new WebDriverException(e);
+    }
+
+    private Long awaitMutation(Long lastSeen, Duration wait) {
+        try {
+            Object count = ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_MUTATION_SCRIPT, lastSeen, wait.toMillis());
+            scriptFailures = 0;
+            Long seen = count instanceof Number number ? number.longValue() : null;
+            if (lastSeen != null && seen != null && !seen.equals(lastSeen)) {
+                mutationWakeups++;
+            }
+            return seen;
+        } catch (WebDriverException e) {
+            // Navigations abort the script; a new document means the condition is worth checking again
+            if (++scriptFailures >= MAX_SCRIPT_FAILURES) {
+                log.debug("MutationObserver wait unavailable, falling back to polling every {} ms", slice.toMillis(), e);
+                observerSupported = false;
+            }
+            return null;
+        }
+    }
+
+    private Long sleep(Duration wait) {
+        try {
+            Thread.sleep(wait.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException(e);
+        }
+        return null;
+    }
+
+    public boolean isObserverSupported() {
+        return observerSupported;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getMutationWakeups() {
+        return mutationWakeups;
+    }
+}
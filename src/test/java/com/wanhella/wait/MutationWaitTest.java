@@ -0,0 +1,139 @@
+package com.wanhella.wait;
+
+import com.wanhella.fixture.FixtureServer;
+import com.wanhella.session.DriverPoolExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Wait;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@ExtendWith(DriverPoolExtension.class)
+public class MutationWaitTest {
+    static final Logger log = getLogger(lookup().lookupClass());
+
+    private static final String WEB_ROOT_URL = FixtureServer.webRoot();
+    private static final int ROUNDS = 3;
+
+    // Stamps the first moment the predicate holds, from inside the page
+    private static final String DETECTOR_SCRIPT = """
+            const predicate = new Function(arguments[0]);
+            window.__detectedAt = null;
+            const check = () => {
+              if (window.__detectedAt === null && predicate()) {
+                window.__detectedAt = Date.now();
+              }
+            };
+            new MutationObserver(check).observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+            check();
+            """;
+
+    WebDriver driver;
+
+    @BeforeEach
+    void setup(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Test
+    void testTimeoutStillApplies() {
+        driver.get(WEB_ROOT_URL);
+        MutationWait wait = new MutationWait(driver, Duration.ofSeconds(1));
+        assertThatThrownBy(() -> wait.until(ExpectedConditions.presenceOfElementLocated(By.id("missing"))))
+                .isInstanceOf(TimeoutException.class);
+        assertThat(wait.isObserverSupported()).isTrue();
+    }
+
+    @Test
+    void testSettersReconfigureWait() {
+        driver.get(WEB_ROOT_URL);
+        MutationWait wait = new MutationWait(driver, Duration.ofSeconds(30))
+                .withTimeout(Duration.ofSeconds(1))
+                .pollingEvery(Duration.ofMillis(100))
+                .withMessage("#missing never appeared");
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> wait.until(ExpectedConditions.presenceOfElementLocated(By.id("missing"))))
+                .isInstanceOf(TimeoutException.class)
+                .hasMessageContaining("#missing never appeared");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+        assertThat(wait.getEvaluations()).isGreaterThan(2);
+    }
+
+    @Test
+    void testLoadingImagesLatency() {
+        ExpectedCondition<?> condition = ExpectedConditions.presenceOfElementLocated(By.id("landscape"));
+        String predicate = "return document.getElementById('landscape') !== null";
+
+        long fluent = 0;
+        long mutation = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            driver.get(WEB_ROOT_URL + "loading-images.html");
+            fluent += detectionLatency(fluentWait(), condition, predicate);
+            driver.get(WEB_ROOT_URL + "loading-images.html");
+            mutation += detectionLatency(new MutationWait(driver, Duration.ofSeconds(10)), condition, predicate);
+        }
+        report("loading-images.html", fluent, mutation);
+    }
+
+    @Test
+    void testSlowCalculatorLatency() {
+        ExpectedCondition<?> condition = ExpectedConditions.textToBe(By.className("screen"), "4");
+        String predicate = "return document.querySelector('.screen').textContent.trim() === '4'";
+
+        long fluent = 0;
+        long mutation = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            addOneAndThree();
+            fluent += detectionLatency(fluentWait(), condition, predicate);
+            addOneAndThree();
+            mutation += detectionLatency(new MutationWait(driver, Duration.ofSeconds(10)), condition, predicate);
+        }
+        report("slow-calculator.html", fluent, mutation);
+    }
+
+    private void addOneAndThree() {
+        driver.get(WEB_ROOT_URL + "slow-calculator.html");
+        driver.findElement(By.xpath("//span[text()='1']")).click();
+        driver.findElement(By.xpath("//span[text()='+']")).click();
+        driver.findElement(By.xpath("//span[text()='3']")).click();
+        driver.findElement(By.xpath("//span[text()='=']")).click();
+    }
+
+    // Same configuration as WaitingTest.testFluentWait
+    private Wait<WebDriver> fluentWait() {
+        return new FluentWait<>(driver)
+                .withTimeout(Duration.ofSeconds(10))
+                .pollingEvery(Duration.ofSeconds(1))
+                .ignoring(NoSuchElementException.class);
+    }
+
+    private long detectionLatency(Wait<WebDriver> wait, ExpectedCondition<?> condition, String predicate) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        js.executeScript(DETECTOR_SCRIPT, predicate);
+        Object value = wait.until(condition);
+        long returnedAt = System.currentTimeMillis();
+        assertThat(value).isNotNull().isNotEqualTo(Boolean.FALSE);
+        long detectedAt = ((Number) js.executeScript("return window.__detectedAt")).longValue();
+        return returnedAt - detectedAt;
+    }
+
+    private void report(String page, long fluentMillis, long mutationMillis) {
+        log.info("{}: condition met -> wait returned in {} ms with FluentWait (1 s polling), {} ms with MutationWait",
+                page, fluentMillis / ROUNDS, mutationMillis / ROUNDS);
+    }
+}